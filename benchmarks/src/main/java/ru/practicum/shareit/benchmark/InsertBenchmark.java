@@ -0,0 +1,162 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts 100k rows through the repositories, the way bulk imports and batch endpoints do.
+ * {@code insertUsers} and {@code insertBookings} take ids from the pooled-lo sequences, {@code batchSize=1} turns
+ * JDBC batching off. {@code insertUsersWithIdentity} is the baseline before the sequences: each row is inserted on
+ * its own and its identity id is read back, as Hibernate does for {@code GenerationType.IDENTITY}. It writes to a
+ * copy of the users table and does not depend on {@code batchSize}.
+ * H2 executes a batch row by row, so run it against PostgreSQL to see the difference:
+ * {@code java -jar benchmarks.jar InsertBenchmark -jvmArgsAppend "-Dspring.datasource.url=jdbc:postgresql://localhost/shareit
+ * -Dspring.datasource.driverClassName=org.postgresql.Driver -Dspring.datasource.username=..."}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+    private static final String IDENTITY_TABLE = "benchmark_identity_users";
+    @Param({"1", "50"})
+    public int batchSize;
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transaction;
+    private JdbcTemplate jdbcTemplate;
+    private UserRepository userRepository;
+    private BookingRepository bookingRepository;
+    private User booker;
+    private Item item;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .run("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userRepository = context.getBean(UserRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        User owner = userRepository.save(User.builder().name("owner").email("owner-" + run + "@shareit.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker-" + run + "@shareit.ru").build());
+        item = context.getBean(ItemRepository.class).save(Item.builder()
+                .name("item")
+                .description("item")
+                .available(true)
+                .user(owner)
+                .build());
+        jdbcTemplate.execute("create table if not exists " + IDENTITY_TABLE + " (" +
+                "id bigint generated by default as identity primary key, " +
+                "name varchar(255) not null, " +
+                "email varchar(512) not null unique)");
+    }
+
+    @TearDown(Level.Iteration)
+    public void clean() {
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from users where email like 'user-%'");
+        jdbcTemplate.update("delete from " + IDENTITY_TABLE);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        jdbcTemplate.execute("drop table if exists " + IDENTITY_TABLE);
+        context.close();
+    }
+
+    @Benchmark
+    public void insertUsers() {
+        String run = booker.getEmail() + "-" + invocation++;
+        for (int first = 0; first < ROWS; first += ROWS_PER_TRANSACTION) {
+            List<User> users = new ArrayList<>(ROWS_PER_TRANSACTION);
+            for (int i = first; i < first + ROWS_PER_TRANSACTION; i++) {
+                users.add(User.builder().name("user" + i).email("user-" + i + "-" + run).build());
+            }
+            transaction.executeWithoutResult(status -> userRepository.saveAll(users));
+        }
+    }
+
+    @Benchmark
+    public void insertUsersWithIdentity(Blackhole blackhole) {
+        String run = booker.getEmail() + "-" + invocation++;
+        String sql = "insert into " + IDENTITY_TABLE + " (name, email) values (?, ?)";
+        for (int first = 0; first < ROWS; first += ROWS_PER_TRANSACTION) {
+            int from = first;
+            transaction.executeWithoutResult(status -> {
+                for (int i = from; i < from + ROWS_PER_TRANSACTION; i++) {
+                    String name = "user" + i;
+                    String email = "user-" + i + "-" + run;
+                    KeyHolder keyHolder = new GeneratedKeyHolder();
+                    jdbcTemplate.update(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                        statement.setString(1, name);
+                        statement.setString(2, email);
+                        return statement;
+                    }, keyHolder);
+                    blackhole.consume(keyHolder.getKeyList().get(0).get("id"));
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void insertBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int first = 0; first < ROWS; first += ROWS_PER_TRANSACTION) {
+            List<Booking> bookings = new ArrayList<>(ROWS_PER_TRANSACTION);
+            for (int i = first; i < first + ROWS_PER_TRANSACTION; i++) {
+                bookings.add(Booking.builder()
+                        .start(start.plusHours(i))
+                        .end(start.plusHours(i + 1))
+                        .item(item)
+                        .booker(booker)
+                        .state(BookingState.WAITING)
+                        .build());
+            }
+            transaction.executeWithoutResult(status -> bookingRepository.saveAll(bookings));
+        }
+    }
+}
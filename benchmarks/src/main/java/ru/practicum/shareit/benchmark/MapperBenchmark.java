@@ -0,0 +1,118 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDtoWithBooker;
+import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.RequestMapper;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"1", "20"})
+    public int size;
+    private List<Booking> bookings;
+    private List<Item> items;
+    private BookingDtoWithBooker lastBooking;
+    private BookingDtoWithBooker nextBooking;
+    private List<CommentDto> comments;
+    private List<RequestDto> requests;
+    private Map<Long, List<Item>> itemsByRequest;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1L).name("owner").email("owner@shareit.ru").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@shareit.ru").build();
+        Request request = Request.builder().id(1L).description("Нужна дрель").requestor(booker).created(now).build();
+        bookings = new ArrayList<>();
+        items = new ArrayList<>();
+        comments = new ArrayList<>();
+        requests = new ArrayList<>();
+        itemsByRequest = new HashMap<>();
+        for (long id = 1; id <= size; id++) {
+            Item item = Item.builder()
+                    .id(id)
+                    .name("Дрель " + id)
+                    .user(owner)
+                    .description("Простая дрель " + id)
+                    .available(true)
+                    .request(request)
+                    .build();
+            items.add(item);
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(now.plusDays(id))
+                    .end(now.plusDays(id + 1))
+                    .item(item)
+                    .booker(booker)
+                    .state(BookingState.WAITING)
+                    .build());
+            comments.add(CommentDto.builder()
+                    .id(id)
+                    .authorName(booker.getName())
+                    .text("Отзыв " + id)
+                    .created(now.toString())
+                    .build());
+            requests.add(RequestDto.builder()
+                    .id(id)
+                    .description("Запрос " + id)
+                    .created(now.toString())
+                    .build());
+            itemsByRequest.put(id, List.of(item));
+        }
+        lastBooking = new BookingDtoWithBooker(1L, booker.getId());
+        nextBooking = new BookingDtoWithBooker(2L, booker.getId());
+    }
+
+    @Benchmark
+    public List<BookingDtoWithInfo> mapToBookingInfo() {
+        return bookings.stream()
+                .map(BookingMapper::mapToBookingInfo)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBooking> mapToItemDtoWithBookingsAndComments() {
+        return items.stream()
+                .map(item -> ItemMapper.mapToItemDtoWithBookingsAndComments(item, lastBooking, nextBooking, comments))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<RequestDto> mapRequestsDtoWithItems() {
+        return RequestMapper.mapRequestsDtoWithItems(requests, itemsByRequest);
+    }
+}
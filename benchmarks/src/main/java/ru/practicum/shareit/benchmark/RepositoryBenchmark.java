@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.BookingSpecifications;
+import ru.practicum.shareit.booking.dto.BookingDtoWithBookerAndItem;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private SplittableRandom random;
+        private ItemRepository itemRepository;
+        private BookingRepository bookingRepository;
+        private long ownerId;
+        private Set<Long> itemIds;
+
+        @Setup(Level.Trial)
+        public void init(ServerState server) {
+            random = new SplittableRandom(server.seed);
+            itemRepository = server.getBean(ItemRepository.class);
+            bookingRepository = server.getBean(BookingRepository.class);
+        }
+
+        @Setup(Level.Invocation)
+        public void next(ServerState server) {
+            ownerId = server.randomOwner(random);
+            long firstItemId = 1 + random.nextLong(Math.max(1, server.items - PAGE_SIZE));
+            itemIds = LongStream.range(firstItemId, firstItemId + PAGE_SIZE).boxed().collect(Collectors.toSet());
+        }
+    }
+
+    @Benchmark
+    public List<Item> itemsPageByOwner(ServerState server, Caller caller) {
+        return server.inRequest(() -> caller.itemRepository.findByUserIdAndIdGreaterThanOrderById(
+                caller.ownerId, 0, PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public List<Booking> futureBookingsPageByOwner(ServerState server, Caller caller) {
+        return server.inRequest(() -> caller.bookingRepository.findPage(
+                BookingSpecifications.byOwner(caller.ownerId)
+                        .and(BookingSpecifications.byState(BookingState.FUTURE, LocalDateTime.now())),
+                PageRequest.of(0, PAGE_SIZE, BookingCursor.ORDER)));
+    }
+
+    @Benchmark
+    public List<BookingDtoWithBookerAndItem> lastBookingForItems(ServerState server, Caller caller) {
+        return server.inRequest(() -> caller.bookingRepository.findLastBookingForItems(
+                caller.itemIds, LocalDateTime.now()));
+    }
+}
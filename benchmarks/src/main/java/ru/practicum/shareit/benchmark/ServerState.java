@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.datagen.DataGenerator;
+import ru.practicum.shareit.datagen.DataGeneratorProperties;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+public class ServerState {
+    private static final int SAMPLED_OWNERS = 4096;
+    @Param({"default", "l2cache"})
+    public String profile;
+    @Param("1000")
+    public long users;
+    @Param("10000")
+    public long items;
+    @Param("1000")
+    public long requests;
+    @Param("100000")
+    public long bookings;
+    @Param("20000")
+    public long comments;
+    @Param("42")
+    public long seed;
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private long[] owners;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark", profile)
+                .run();
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setUsers(users);
+        properties.setItems(items);
+        properties.setRequests(requests);
+        properties.setBookings(bookings);
+        properties.setComments(comments);
+        properties.setSeed(seed);
+        context.getBean(DataGenerator.class).generate(properties);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        sampleOwners();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Owners are picked through random items, so owners with many items are picked proportionally more often.
+    public long randomOwner(SplittableRandom random) {
+        return owners[random.nextInt(owners.length)];
+    }
+
+    // The web layer keeps a session open for the whole request, so every call runs in its own read-only transaction.
+    public <T> T inRequest(Supplier<T> call) {
+        return readOnly.execute(status -> call.get());
+    }
+
+    private void sampleOwners() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        SplittableRandom random = new SplittableRandom(seed);
+        owners = new long[SAMPLED_OWNERS];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = jdbcTemplate.queryForObject(
+                    "select user_id from items where id = ?", Long.class, 1 + random.nextLong(items));
+        }
+    }
+}
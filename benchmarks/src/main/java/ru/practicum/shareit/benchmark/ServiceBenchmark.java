@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.PageRequestCustom;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.Filter;
+import ru.practicum.shareit.booking.StateHolder;
+import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.request.RequestController;
+import ru.practicum.shareit.request.RequestService;
+import ru.practicum.shareit.request.dto.RequestDto;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private SplittableRandom random;
+        private ItemService itemService;
+        private BookingService bookingService;
+        private RequestService requestService;
+        private long userId;
+        private long ownerId;
+        private long itemId;
+
+        @Setup(Level.Trial)
+        public void init(ServerState server) {
+            random = new SplittableRandom(server.seed);
+            itemService = server.getBean(ItemService.class);
+            bookingService = server.getBean(BookingService.class);
+            requestService = server.getBean(RequestService.class);
+        }
+
+        @Setup(Level.Invocation)
+        public void next(ServerState server) {
+            userId = 1 + random.nextLong(server.users);
+            ownerId = server.randomOwner(random);
+            itemId = 1 + random.nextLong(server.items);
+        }
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBooking> itemsByOwner(ServerState server, Caller caller) {
+        return server.inRequest(() -> caller.itemService.getAllByUser(
+                caller.ownerId, null, new PageRequestCustom(0, PAGE_SIZE, Sort.unsorted())));
+    }
+
+    @Benchmark
+    public ItemDtoWithBooking itemById(ServerState server, Caller caller) {
+        return server.inRequest(() -> caller.itemService.get(caller.userId, caller.itemId));
+    }
+
+    @Benchmark
+    public List<BookingDtoWithInfo> bookingsByOwner(ServerState server, Caller caller) {
+        return server.inRequest(() -> caller.bookingService.getAllByOwner(caller.ownerId, new Filter(
+                new StateHolder(BookingState.ALL.name()),
+                new PageRequestCustom(0, PAGE_SIZE, BookingController.SORT_BY_START_DESC))));
+    }
+
+    @Benchmark
+    public List<BookingDtoWithInfo> futureBookingsByOwner(ServerState server, Caller caller) {
+        return server.inRequest(() -> caller.bookingService.getAllByOwner(caller.ownerId, new Filter(
+                new StateHolder(BookingState.FUTURE.name()),
+                new PageRequestCustom(0, PAGE_SIZE, BookingController.SORT_BY_START_DESC))));
+    }
+
+    @Benchmark
+    public List<RequestDto> otherUsersRequests(ServerState server, Caller caller) {
+        return server.inRequest(() -> caller.requestService.getAll(
+                caller.userId, new PageRequestCustom(0, PAGE_SIZE, RequestController.SORT_BY_CREATED_DESC)));
+    }
+}
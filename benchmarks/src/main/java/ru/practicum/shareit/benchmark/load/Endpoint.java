@@ -0,0 +1,27 @@
+package ru.practicum.shareit.benchmark.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum Endpoint {
+    SEARCH("search", 25),
+    OWNER_ITEMS("owner-items", 20),
+    OWNER_BOOKINGS("owner-bookings", 10),
+    OTHER_REQUESTS("requests", 10),
+    CREATE_BOOKING("create-booking", 20),
+    APPROVE_BOOKING("approve-booking", 15);
+
+    private final String label;
+    private final int defaultWeight;
+
+    public static Endpoint byName(String label) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.label.equals(label)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный тип запроса: " + label);
+    }
+}
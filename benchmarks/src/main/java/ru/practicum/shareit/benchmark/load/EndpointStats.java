@@ -0,0 +1,70 @@
+package ru.practicum.shareit.benchmark.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    public EndpointStats() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(MAX_TRACKED_NANOS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public void record(Endpoint endpoint, long latencyNanos, boolean success) {
+        latencies.get(endpoint).recordValue(Math.min(latencyNanos, MAX_TRACKED_NANOS));
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    public void reset() {
+        latencies.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%-16s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        Histogram total = new Histogram(MAX_TRACKED_NANOS, 3);
+        long totalErrors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint).copy();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errors.get(endpoint).sum();
+            printRow(out, endpoint.getLabel(), histogram, errors.get(endpoint).sum(), seconds);
+        }
+        printRow(out, "total", total, totalErrors, seconds);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errors, double seconds) {
+        out.printf("%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                label,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,214 @@
+package ru.practicum.shareit.benchmark.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a realistic request mix against a running gateway (or the server directly, to compare the extra hop)
+ * and prints latency percentiles and throughput per endpoint:
+ * {@code java -cp benchmarks.jar ru.practicum.shareit.benchmark.load.LoadTest --base-url=http://localhost:8080}.
+ */
+@RequiredArgsConstructor
+public class LoadTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int PAGE_SIZE = 20;
+    private static final String[] TOOLS = {"Дрель", "Перфоратор", "Отвертка", "Лестница", "Палатка", "Велосипед", "Пила"};
+    private static final String[] KINDS = {"ударная", "аккумуляторная", "складная", "туристическая", "детская"};
+    private final LoadTestOptions options;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final EndpointStats stats = new EndpointStats();
+    private final List<Long> users = new ArrayList<>();
+    private final List<long[]> items = new ArrayList<>();
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+    private volatile long deadline;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    public void run() throws Exception {
+        prepare();
+        System.out.printf("Пользователей: %d, вещей: %d, потоков: %d, нагрузка: %s%n", users.size(), items.size(),
+                options.getThreads(), options.getRate() > 0 ? options.getRate() + " req/s" : "closed loop");
+        ExecutorService workers = Executors.newFixedThreadPool(options.getThreads());
+        long startedAt = System.nanoTime();
+        deadline = startedAt + options.getWarmup().toNanos() + options.getDuration().toNanos();
+        for (int i = 0; i < options.getThreads(); i++) {
+            SplittableRandom random = new SplittableRandom(options.getSeed() + i);
+            workers.submit(() -> work(random));
+        }
+        TimeUnit.NANOSECONDS.sleep(options.getWarmup().toNanos());
+        stats.reset();
+        long measuredFrom = System.nanoTime();
+        workers.shutdown();
+        workers.awaitTermination(options.getDuration().toSeconds() + 60, TimeUnit.SECONDS);
+        stats.print(System.out, Duration.ofNanos(System.nanoTime() - measuredFrom));
+    }
+
+    private void prepare() throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        SplittableRandom random = new SplittableRandom(options.getSeed());
+        for (int i = 0; i < options.getUsers(); i++) {
+            users.add(create(post("/users", null, Map.of("name", "load" + i, "email", "load-" + run + "-" + i + "@shareit.ru"))));
+        }
+        for (long owner : users) {
+            for (int i = 0; i < options.getItemsPerUser(); i++) {
+                String name = TOOLS[random.nextInt(TOOLS.length)] + " " + KINDS[random.nextInt(KINDS.length)];
+                long itemId = create(post("/items", owner, Map.of("name", name, "description", name + " в аренду", "available", true)));
+                items.add(new long[]{itemId, owner});
+            }
+            if (random.nextBoolean()) {
+                create(post("/requests", owner, Map.of("description", "Нужна " + TOOLS[random.nextInt(TOOLS.length)])));
+            }
+        }
+    }
+
+    private void work(SplittableRandom random) {
+        long interval = options.getRate() > 0 ? TimeUnit.SECONDS.toNanos(options.getThreads()) / options.getRate() : 0;
+        long intendedStart = System.nanoTime();
+        while (System.nanoTime() < deadline) {
+            long start;
+            if (interval > 0) {
+                intendedStart += interval;
+                LockSupport.parkNanos(intendedStart - System.nanoTime());
+                // Measuring from the planned start keeps a stalled server from hiding its own queueing delay.
+                start = intendedStart;
+            } else {
+                start = System.nanoTime();
+            }
+            Endpoint endpoint = pick(random);
+            long[] booking = null;
+            if (endpoint == Endpoint.APPROVE_BOOKING) {
+                booking = waitingBookings.poll();
+                if (booking == null) {
+                    endpoint = Endpoint.CREATE_BOOKING;
+                }
+            }
+            boolean success;
+            try {
+                success = execute(endpoint, random, booking);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.record(endpoint, System.nanoTime() - start, success);
+        }
+    }
+
+    private boolean execute(Endpoint endpoint, SplittableRandom random, long[] booking) throws IOException, InterruptedException {
+        long userId = users.get(random.nextInt(users.size()));
+        switch (endpoint) {
+            case SEARCH:
+                String text = URLEncoder.encode(TOOLS[random.nextInt(TOOLS.length)].toLowerCase(), StandardCharsets.UTF_8);
+                return isOk(send(get("/items/search?text=" + text + "&from=0&size=" + PAGE_SIZE, userId)));
+            case OWNER_ITEMS:
+                return isOk(send(get("/items?from=0&size=" + PAGE_SIZE, userId)));
+            case OWNER_BOOKINGS:
+                return isOk(send(get("/bookings/owner?state=ALL&from=0&size=" + PAGE_SIZE, userId)));
+            case OTHER_REQUESTS:
+                return isOk(send(get("/requests/all?from=0&size=" + PAGE_SIZE, userId)));
+            case CREATE_BOOKING:
+                return createBooking(random);
+            case APPROVE_BOOKING:
+                return isOk(send(builder("/bookings/" + booking[0] + "?approved=true", booking[1])
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                        .build()));
+            default:
+                throw new IllegalStateException(endpoint.name());
+        }
+    }
+
+    private boolean createBooking(SplittableRandom random) throws IOException, InterruptedException {
+        long[] item = items.get(random.nextInt(items.size()));
+        long bookerId = users.get(random.nextInt(users.size()));
+        if (bookerId == item[1]) {
+            bookerId = users.get((users.indexOf(bookerId) + 1) % users.size());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusMinutes(random.nextInt(365 * 24 * 60))
+                .truncatedTo(ChronoUnit.SECONDS);
+        HttpResponse<String> response = send(post("/bookings", bookerId, Map.of(
+                "itemId", item[0],
+                "start", start.toString(),
+                "end", start.plusHours(1 + random.nextInt(48)).toString())));
+        if (!isOk(response)) {
+            return false;
+        }
+        waitingBookings.add(new long[]{mapper.readTree(response.body()).get("id").asLong(), item[1]});
+        return true;
+    }
+
+    private Endpoint pick(SplittableRandom random) {
+        int total = options.getWeights().values().stream().mapToInt(Integer::intValue).sum();
+        int point = random.nextInt(total);
+        for (Map.Entry<Endpoint, Integer> weight : options.getWeights().entrySet()) {
+            point -= weight.getValue();
+            if (point < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private long create(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(request);
+        if (!isOk(response)) {
+            throw new IllegalStateException(request.uri() + " -> " + response.statusCode() + ": " + response.body());
+        }
+        return mapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return builder(path, userId).GET().build();
+    }
+
+    private HttpRequest post(String path, Long userId, Map<String, Object> body) throws IOException {
+        return builder(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.getBaseUrl() + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null) {
+            builder.header(USER_HEADER, userId.toString());
+        }
+        return builder;
+    }
+
+    private static boolean isOk(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark.load;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+public class LoadTestOptions {
+    private URI baseUrl = URI.create("http://localhost:8080");
+    private int users = 200;
+    private int itemsPerUser = 5;
+    private int threads = 16;
+    private int rate;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private long seed = 42;
+    private final Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+
+    public LoadTestOptions() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            weights.put(endpoint, endpoint.getDefaultWeight());
+        }
+    }
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Ожидается аргумент вида --name=value: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "base-url":
+                    options.baseUrl = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                    break;
+                case "users":
+                    options.users = Integer.parseInt(value);
+                    break;
+                case "items-per-user":
+                    options.itemsPerUser = Integer.parseInt(value);
+                    break;
+                case "threads":
+                    options.threads = Integer.parseInt(value);
+                    break;
+                case "rate":
+                    options.rate = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                    break;
+                case "duration":
+                    options.duration = Duration.ofSeconds(Long.parseLong(value));
+                    break;
+                case "seed":
+                    options.seed = Long.parseLong(value);
+                    break;
+                case "mix":
+                    options.parseMix(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Неизвестный аргумент: " + arg);
+            }
+        }
+        return options;
+    }
+
+    // The mix is a comma separated list like search=30,owner-items=25; endpoints left out keep their default weight.
+    private void parseMix(String mix) {
+        for (String part : mix.split(",")) {
+            String[] weight = part.split(":|=");
+            weights.put(Endpoint.byName(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.messageManager.MessageHolder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Calls to the server are made on the request thread, so with virtual threads they are bounded only by
+ * the server connection pool: waiting for a pooled connection parks the virtual thread, not a carrier.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean(name = "applicationTaskExecutor", destroyMethod = "shutdown")
+    public ExecutorService applicationTaskExecutor(HttpClientProperties properties) {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info(MessageHolder.VIRTUAL_THREADS_ENABLED, properties.getMaxTotal());
+        return executor;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer(
+            ExecutorService applicationTaskExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(applicationTaskExecutor);
+    }
+
+    // Looked up reflectively, the project still compiles for Java 11.
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(String.format(MessageHolder.VIRTUAL_THREADS_UNSUPPORTED,
+                    Runtime.version().feature()), e);
+        }
+    }
+}
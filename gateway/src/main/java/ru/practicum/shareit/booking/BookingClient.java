@@ -1,62 +1,88 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory shareItServerRequestFactory,
+                         ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                responseCache
         );
     }
 
     public ResponseEntity<Object> createBooking(long userId, BookItemRequestDto bookingDto) {
-        return post("", userId, bookingDto);
+        ResponseEntity<Object> response = post("", userId, bookingDto);
+        responseCache.evict("/items/" + bookingDto.getItemId());
+        return response;
+    }
+
+    public ResponseEntity<Object> createBookings(long userId, List<BookItemRequestDto> bookingDtos) {
+        ResponseEntity<Object> response = post("/batch", userId, bookingDtos);
+        bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .forEach(bookingDto -> responseCache.evict("/items/" + bookingDto.getItemId()));
+        return response;
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return getPage("", userId, state, from, size, cursor);
     }
 
-    public ResponseEntity<Object> getOwnBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getOwnBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
     }
 
     public ResponseEntity<Object> approve(long userId, long bookingId, boolean isApproved) {
         Map<String, Object> parameters = Map.of(
                 "approved", isApproved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters);
+        ResponseEntity<Object> response = patch("/" + bookingId + "?approved={approved}", userId, parameters);
+        responseCache.evictReferenced(response, "/item/id", "/items/");
+        return response;
+    }
+
+    private ResponseEntity<Object> getPage(String path, long userId, BookingState state, Integer from, Integer size,
+                                           String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        path += "?state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, userId, parameters);
     }
 }
\ No newline at end of file
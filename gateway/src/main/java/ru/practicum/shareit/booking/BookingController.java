@@ -3,26 +3,31 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.exception.NotValidBatchSizeException;
 import ru.practicum.shareit.exception.UnSupportedStatusException;
 import ru.practicum.shareit.messageManager.MessageHolder;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class BookingController {
 	public static final String DEFAULT_SIZE_OF_PAGE = "10";
+	public static final int MAX_BATCH_SIZE = 100;
 	private final BookingClient bookingClient;
 
 	@PostMapping
@@ -32,6 +37,17 @@ public class BookingController {
 		return bookingClient.createBooking(userId, bookingDto);
 	}
 
+	// Entries are validated by the server one by one, so a bad entry fails alone instead of the whole batch.
+	@PostMapping("/batch")
+	public ResponseEntity<Object> createBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+												 @RequestBody List<BookItemRequestDto> bookingDtos) {
+		if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+			throw new NotValidBatchSizeException(String.format(MessageHolder.BOOKING_BATCH_SIZE, MAX_BATCH_SIZE));
+		}
+		log.info(MessageHolder.GET_CREATE_REQUEST, bookingDtos);
+		return bookingClient.createBookings(userId, bookingDtos);
+	}
+
 	@GetMapping("/{bookingId}")
 	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 											 @PathVariable Long bookingId) {
@@ -43,22 +59,24 @@ public class BookingController {
 	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
 											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size) {
+											  @Positive @RequestParam(name = "size", defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size,
+											  @RequestParam(name = "cursor", required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new UnSupportedStatusException(String.format(MessageHolder.UNSUPPORTED_STATUS, stateParam)));
 		log.info(MessageHolder.GET_ALL_REQUEST);
-		return bookingClient.getBookings(userId, state, from, size);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@GetMapping("/owner")
 	public ResponseEntity<Object> getOwnBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 												 @RequestParam(name = "state", defaultValue = "all") String stateParam,
 												 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-												 @Positive @RequestParam(name = "size", defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size) {
+												 @Positive @RequestParam(name = "size", defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size,
+												 @RequestParam(name = "cursor", required = false) String cursor) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new UnSupportedStatusException(String.format(MessageHolder.UNSUPPORTED_STATUS, stateParam)));
 		log.info(MessageHolder.GET_ALL_REQUEST);
-		return bookingClient.getOwnBookings(userId, state, from, size);
+		return bookingClient.getOwnBookings(userId, state, from, size, cursor);
 	}
 
 	@PatchMapping("/{bookingId}")
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.client;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
@@ -9,14 +10,16 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    protected final ResponseCache responseCache;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, ResponseCache responseCache) {
         this.rest = rest;
+        this.responseCache = responseCache;
+        this.rest.setErrorHandler(new PassthroughErrorHandler());
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -35,6 +38,19 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, null, parameters, null);
     }
 
+    protected ResponseEntity<Object> cachedGet(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        return responseCache.get(uri, userId, eTag -> {
+            HttpHeaders headers = defaultHeaders(userId);
+            if (eTag != null) {
+                headers.setIfNoneMatch(eTag);
+            }
+            return rest.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        });
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -82,15 +98,11 @@ public class BaseClient {
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        ResponseEntity<byte[]> shareitServerResponse;
+        if (parameters != null) {
+            shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+        } else {
+            shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -105,17 +117,8 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-
-        return responseBuilder.build();
+    // The body is passed on as the server wrote it, its Content-Type is kept so the bytes are never parsed.
+    static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        return new ResponseEntity<>(response.getBody(), ForwardedHeaders.of(response.getHeaders()), response.getStatusCode());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class ForwardedHeaders {
+    private static final Set<String> NOT_FORWARDED = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        NOT_FORWARDED.addAll(List.of(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE,
+                HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.UPGRADE, HttpHeaders.CONTENT_LENGTH));
+    }
+
+    private ForwardedHeaders() {
+    }
+
+    // Hop-by-hop headers and the length describe the server connection, not the response the gateway writes.
+    public static HttpHeaders of(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!NOT_FORWARDED.contains(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+}
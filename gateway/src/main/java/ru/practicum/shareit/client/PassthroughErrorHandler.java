@@ -0,0 +1,15 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+
+/**
+ * Server errors are answers for the gateway client, not failures of the gateway, so they are returned as they are.
+ */
+class PassthroughErrorHandler extends DefaultResponseErrorHandler {
+
+    @Override
+    public boolean hasError(ClientHttpResponse response) {
+        return false;
+    }
+}
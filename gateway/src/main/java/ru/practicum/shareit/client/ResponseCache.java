@@ -0,0 +1,156 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.messageManager.MessageHolder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Keeps successful GET responses of the server for a short time and revalidates them by ETag afterwards.
+ * A write through the gateway bumps the generation of the paths it changes, which makes every cached variant
+ * of those paths stale at once, including answers that were still on their way when the write happened.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@Slf4j
+public class ResponseCache implements MeterBinder {
+    private static final int GENERATION_STRIPES = 4096;
+    private final ResponseCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, CachedResponse> responses;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final String basePath;
+
+    public ResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                         @org.springframework.beans.factory.annotation.Value("${shareit-server.url}") String serverUrl) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        String serverPath = URI.create(serverUrl).getRawPath();
+        this.basePath = serverPath == null || serverPath.equals("/") ? ""
+                : serverPath.replaceAll("/+$", "");
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getRetain().compareTo(properties.getTtl()) > 0
+                        ? properties.getRetain() : properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param userId the user the answer depends on, {@code null} when it is the same for everyone
+     * @param fetch  asks the server, with the ETag of the cached response if there is one
+     */
+    public ResponseEntity<Object> get(URI uri, @Nullable Long userId,
+                                      Function<String, ResponseEntity<byte[]>> fetch) {
+        if (!properties.isEnabled()) {
+            return BaseClient.prepareGatewayResponse(fetch.apply(null));
+        }
+        Key key = new Key(relativePath(uri), uri.getRawQuery(), userId);
+        long generation = generation(key.getPath());
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null && cached.getGeneration() != generation) {
+            cached = null;
+        }
+        long now = System.nanoTime();
+        if (cached != null && now - cached.getValidatedAt() < properties.getTtl().toNanos()) {
+            return BaseClient.prepareGatewayResponse(cached.getResponse());
+        }
+        ResponseEntity<byte[]> response = fetch.apply(cached != null ? cached.getETag() : null);
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            responses.put(key, new CachedResponse(cached.getResponse(), cached.getETag(), generation, now));
+            return BaseClient.prepareGatewayResponse(cached.getResponse());
+        }
+        if (response.getStatusCode() == HttpStatus.OK) {
+            responses.put(key, new CachedResponse(response, response.getHeaders().getETag(), generation, now));
+        } else if (cached != null) {
+            responses.invalidate(key);
+        }
+        return BaseClient.prepareGatewayResponse(response);
+    }
+
+    /**
+     * @param path the server path without the base path of {@code shareit-server.url}, e.g. {@code /items/1}
+     */
+    public void evict(String path) {
+        generations.incrementAndGet(stripe(path));
+    }
+
+    // Used when a write touches data the gateway cannot map to paths, such as a renamed comment author.
+    public void clear() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    /**
+     * Evicts {@code prefix + id} where the id is read from the successful server answer at {@code pointer},
+     * e.g. the item of an approved booking.
+     */
+    public void evictReferenced(ResponseEntity<Object> response, String pointer, String prefix) {
+        if (!properties.isEnabled() || !response.getStatusCode().is2xxSuccessful()
+                || !(response.getBody() instanceof byte[])) {
+            return;
+        }
+        try {
+            JsonNode id = objectMapper.readTree((byte[]) response.getBody()).at(pointer);
+            if (id.isNumber()) {
+                evict(prefix + id.asLong());
+            }
+        } catch (IOException e) {
+            log.warn(MessageHolder.UNREADABLE_SERVER_RESPONSE, e.getMessage());
+            clear();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, "shareit-server.responses");
+    }
+
+    // Keys use the same path as evict(), so a base path in the server url does not keep writes from matching.
+    private String relativePath(URI uri) {
+        String path = uri.getRawPath();
+        return path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+    }
+
+    private long generation(String path) {
+        return generations.get(stripe(path));
+    }
+
+    private static int stripe(String path) {
+        return Math.floorMod(path.hashCode(), GENERATION_STRIPES);
+    }
+
+    @Value
+    private static class Key {
+        String path;
+        String query;
+        Long userId;
+    }
+
+    @Value
+    private static class CachedResponse {
+        ResponseEntity<byte[]> response;
+        String eTag;
+        long generation;
+        long validatedAt;
+    }
+}
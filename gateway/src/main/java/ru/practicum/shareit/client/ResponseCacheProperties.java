@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit-server.cache")
+@Getter
+@Setter
+public class ResponseCacheProperties {
+    private boolean enabled;
+    private long maximumSize = 10_000;
+    // How long a response is served without asking the server.
+    private Duration ttl = Duration.ofSeconds(5);
+    // How long a stale response is kept to be revalidated by its ETag.
+    private Duration retain = Duration.ofMinutes(10);
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class NotValidBatchSizeException extends RuntimeException {
+    public NotValidBatchSizeException(String message) {
+        super(message);
+    }
+}
@@ -1,60 +1,122 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.StringJoiner;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory,
+                      ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                responseCache
         );
     }
 
     public ResponseEntity<Object> createItem(long userId, ItemDtoWithOutBooking requestDto) {
-        return post("", userId, requestDto);
+        ResponseEntity<Object> response = post("", userId, requestDto);
+        responseCache.evict(API_PREFIX + "/search");
+        if (requestDto.getRequestId() != null) {
+            responseCache.evict("/requests/" + requestDto.getRequestId());
+        }
+        return response;
     }
 
     public ResponseEntity<Object> getItem(long userId, Long itemId) {
-        return get("/" + itemId, userId);
+        return cachedGet("/" + itemId, userId, null);
     }
 
-    public ResponseEntity<Object> getAllByUser(long userId) {
-        return get("", userId);
+    // Only the given paging parameters are passed on: without any of them the server returns all items of the owner.
+    public ResponseEntity<Object> getAllByUser(long userId, Long after, Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        if (from != null) {
+            parameters.put("from", from);
+            query.add("from={from}");
+        }
+        if (size != null) {
+            parameters.put("size", size);
+            query.add("size={size}");
+        }
+        if (after != null) {
+            parameters.put("after", after);
+            query.add("after={after}");
+        }
+        return get(query.toString(), userId, parameters);
     }
 
     public ResponseEntity<Object> update(long userId, long itemId, ItemDtoWithOutBooking itemDtoPatch) {
-        return patch("/" + itemId, userId, itemDtoPatch);
+        ResponseEntity<Object> response = patch("/" + itemId, userId, itemDtoPatch);
+        responseCache.evict(API_PREFIX + "/" + itemId);
+        responseCache.evict(API_PREFIX + "/search");
+        responseCache.evictReferenced(response, "/requestId", "/requests/");
+        return response;
     }
 
     public ResponseEntity<Object> delete(long userId, long itemId) {
-        return delete("/" + itemId, userId);
+        ResponseEntity<Object> response = delete("/" + itemId, userId);
+        responseCache.clear();
+        return response;
     }
 
-    public ResponseEntity<Object> search(String text) {
-        Map<String, Object> parameters = Map.of(
-                "text", text
-        );
-        return get("/search?text={text}", parameters);
+    public ResponseEntity<Object> search(String text, String cursor, Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        ));
+        String path = "/search?text={text}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return cachedGet(path, null, parameters);
+    }
+
+    // Availability follows every booking approval, so unlike plain search this is not cached.
+    public ResponseEntity<Object> searchFree(String text, LocalDateTime start, LocalDateTime end, String cursor,
+                                             Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        ));
+        String path = "/search/available?text={text}&start={start}&end={end}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, parameters);
     }
 
     public ResponseEntity<Object> createComment(long userId, long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        ResponseEntity<Object> response = post("/" + itemId + "/comment", userId, commentDto);
+        responseCache.evict(API_PREFIX + "/" + itemId);
+        return response;
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,13 +13,18 @@ import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
 import ru.practicum.shareit.messageManager.MessageHolder;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class ItemController {
+	public static final String DEFAULT_SIZE_OF_PAGE = "10";
 	private final ItemClient itemClient;
 
 	@PostMapping
@@ -34,9 +41,12 @@ public class ItemController {
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getAllByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+	public ResponseEntity<Object> getAllByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+											   @Positive @RequestParam(required = false) Long after,
+											   @PositiveOrZero @RequestParam(required = false) Integer from,
+											   @Positive @RequestParam(required = false) Integer size) {
 		log.info(MessageHolder.GET_ALL_BY_USER_REQUEST, userId);
-		return itemClient.getAllByUser(userId);
+		return itemClient.getAllByUser(userId, after, from, size);
 	}
 
 	@PatchMapping("/{itemId}")
@@ -54,9 +64,23 @@ public class ItemController {
 	}
 
 	@GetMapping("/search")
-	public ResponseEntity<Object> search(@RequestParam String text) {
+	public ResponseEntity<Object> search(@RequestParam String text,
+										 @RequestParam(required = false) String cursor,
+										 @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+										 @Positive @RequestParam(defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size) {
 		log.info(MessageHolder.SEARCH_ITEMS_REQUEST, text);
-		return itemClient.search(text);
+		return itemClient.search(text, cursor, from, size);
+	}
+
+	@GetMapping("/search/available")
+	public ResponseEntity<Object> searchFree(@RequestParam String text,
+											 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+											 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+											 @RequestParam(required = false) String cursor,
+											 @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+											 @Positive @RequestParam(defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size) {
+		log.info(MessageHolder.SEARCH_ITEMS_REQUEST, text);
+		return itemClient.searchFree(text, start, end, cursor, from, size);
 	}
 
 	@PostMapping("/{itemId}/comment")
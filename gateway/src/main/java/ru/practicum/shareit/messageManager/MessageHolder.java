@@ -6,11 +6,17 @@ public class MessageHolder {
     public static final String ITEM_EMPTY_DESCRIPTION = "Описание вещи не может быть пустым.";
     public static final String USER_EMAIL = "Некорректный email.";
     public static final String UNSUPPORTED_STATUS = "Unknown state: %s";
+    public static final String BOOKING_BATCH_SIZE = "Пакет должен содержать от 1 до %s бронирований.";
     public static final String GET_CREATE_REQUEST = "Получен запрос на добавление: {}.";
     public static final String GET_UPDATE_REQUEST = "Получен запрос на обновление: {}.";
     public static final String GET_ALL_REQUEST = "Получен запрос на получение всех данных.";
     public static final String GET_ALL_BY_USER_REQUEST = "Получен запрос на получение всех вещей для пользователя с ID = {}.";
     public static final String GET_REQUEST = "Получен запрос на получение данных для ID = {}.";
     public static final String GET_OWN_REQUESTS = "Получен запрос на получение собственных запросов для пользователя ID = {}.";
+    public static final String REQUIRED_PARAMETER = "Не указан обязательный параметр %s.";
+    public static final String INVALID_PARAMETER = "Некорректное значение параметра %s: %s.";
+    public static final String VIRTUAL_THREADS_ENABLED = "Запросы обрабатываются в виртуальных потоках, одновременных запросов к серверу не более {}.";
+    public static final String VIRTUAL_THREADS_UNSUPPORTED = "Виртуальные потоки недоступны в Java %s, требуется Java 21 или новее.";
+    public static final String UNREADABLE_SERVER_RESPONSE = "Не удалось прочитать ответ сервера: {}.";
     public static final String SEARCH_ITEMS_REQUEST = "Запрос на поиск вещей по следующим словам: \"{}\".";
 }
\ No newline at end of file
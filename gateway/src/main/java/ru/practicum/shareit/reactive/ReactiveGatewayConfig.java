@@ -0,0 +1,119 @@
+package ru.practicum.shareit.reactive;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.ErrorResponse;
+import ru.practicum.shareit.client.HttpClientConfig;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.exception.NotValidBatchSizeException;
+import ru.practicum.shareit.exception.UnSupportedStatusException;
+
+import javax.validation.ConstraintViolationException;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(HttpClientProperties.class)
+@Slf4j
+public class ReactiveGatewayConfig {
+
+    // Tomcat is on the classpath for the servlet mode and would otherwise be picked for the reactive server too.
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(HttpClientConfig.POOL_NAME)
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .evictInBackground(properties.getIdleTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient shareItServerWebClient(@Value("${shareit-server.url}") String serverUrl,
+                                            WebClient.Builder builder,
+                                            ConnectionProvider shareItServerConnectionProvider,
+                                            HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        return builder
+                .baseUrl(serverUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> gatewayRoutes(ReactiveGatewayHandler handler) {
+        return route()
+                .POST("/users", handler::createUser)
+                .GET("/users/{userId}", handler::getUser)
+                .GET("/users", handler::getUsers)
+                .PATCH("/users/{userId}", handler::updateUser)
+                .DELETE("/users/{userId}", handler::deleteUser)
+                .POST("/items", handler::createItem)
+                .GET("/items/search", handler::searchItems)
+                .GET("/items/search/available", handler::searchFreeItems)
+                .GET("/items/{itemId}", handler::getItem)
+                .GET("/items", handler::getItemsByUser)
+                .PATCH("/items/{itemId}", handler::updateItem)
+                .DELETE("/items/{itemId}", handler::deleteItem)
+                .POST("/items/{itemId}/comment", handler::createComment)
+                .POST("/bookings/batch", handler::createBookings)
+                .POST("/bookings", handler::createBooking)
+                .GET("/bookings/owner", handler::getOwnBookings)
+                .GET("/bookings/{bookingId}", handler::getBooking)
+                .GET("/bookings", handler::getBookings)
+                .PATCH("/bookings/{bookingId}", handler::approveBooking)
+                .POST("/requests", handler::createRequest)
+                .GET("/requests/all", handler::getRequests)
+                .GET("/requests/{requestId}", handler::getRequest)
+                .GET("/requests", handler::getOwnRequests)
+                .filter(ReactiveGatewayConfig::handleErrors)
+                .build();
+    }
+
+    // Handlers validate parameters before building a publisher, so thrown exceptions are turned into signals first.
+    private static Mono<ServerResponse> handleErrors(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> next.handle(request))
+                .onErrorResume(ReactiveGatewayConfig::isBadRequest, e -> error(HttpStatus.BAD_REQUEST,
+                        e instanceof ServerWebInputException ? ((ServerWebInputException) e).getReason() : e.getMessage()))
+                .onErrorResume(WebClientRequestException.class, e -> error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    private static boolean isBadRequest(Throwable e) {
+        return e instanceof ServerWebInputException || e instanceof DecodingException
+                || e instanceof ConstraintViolationException || e instanceof UnSupportedStatusException
+                || e instanceof NotValidBatchSizeException;
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        log.info("{} {}", status.value(), message);
+        return ServerResponse.status(status).bodyValue(new ErrorResponse(message));
+    }
+}
@@ -0,0 +1,347 @@
+package ru.practicum.shareit.reactive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ForwardedHeaders;
+import ru.practicum.shareit.exception.NotValidBatchSizeException;
+import ru.practicum.shareit.exception.UnSupportedStatusException;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
+import ru.practicum.shareit.messageManager.MessageHolder;
+import ru.practicum.shareit.request.RequestController;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reactive counterpart of the gateway controllers: requests are validated the same way, then the server response
+ * is streamed back to the client as it arrives, without being parsed.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveGatewayHandler {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final ParameterizedTypeReference<List<BookItemRequestDto>> BOOKING_BATCH =
+            new ParameterizedTypeReference<>() {
+            };
+    private final WebClient shareItServerWebClient;
+    private final Validator validator;
+
+    public Mono<ServerResponse> createUser(ServerRequest request) {
+        return validBody(request, UserDto.class)
+                .doOnNext(userDto -> log.info(MessageHolder.GET_CREATE_REQUEST, userDto))
+                .flatMap(userDto -> forward(HttpMethod.POST, "/users", null, Map.of(), BodyInserters.fromValue(userDto)));
+    }
+
+    public Mono<ServerResponse> getUser(ServerRequest request) {
+        long userId = pathId(request, "userId");
+        log.info(MessageHolder.GET_REQUEST, userId);
+        return forward(HttpMethod.GET, "/users/" + userId, null, Map.of(), null);
+    }
+
+    public Mono<ServerResponse> getUsers(ServerRequest request) {
+        log.info(MessageHolder.GET_ALL_REQUEST);
+        return forward(HttpMethod.GET, "/users", null, Map.of(), null);
+    }
+
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        long userId = pathId(request, "userId");
+        log.info(MessageHolder.GET_UPDATE_REQUEST, userId);
+        return forward(HttpMethod.PATCH, "/users/" + userId, null, Map.of(), rawBody(request));
+    }
+
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        long userId = pathId(request, "userId");
+        log.info(MessageHolder.GET_UPDATE_REQUEST, userId);
+        return forward(HttpMethod.DELETE, "/users/" + userId, null, Map.of(), null);
+    }
+
+    public Mono<ServerResponse> createItem(ServerRequest request) {
+        long userId = userId(request);
+        return validBody(request, ItemDtoWithOutBooking.class)
+                .doOnNext(itemDto -> log.info(MessageHolder.GET_CREATE_REQUEST, itemDto))
+                .flatMap(itemDto -> forward(HttpMethod.POST, "/items", userId, Map.of(), BodyInserters.fromValue(itemDto)));
+    }
+
+    public Mono<ServerResponse> getItem(ServerRequest request) {
+        long userId = userId(request);
+        long itemId = pathId(request, "itemId");
+        log.info(MessageHolder.GET_REQUEST, itemId);
+        return forward(HttpMethod.GET, "/items/" + itemId, userId, Map.of(), null);
+    }
+
+    public Mono<ServerResponse> getItemsByUser(ServerRequest request) {
+        long userId = userId(request);
+        // Without any paging parameter the server returns all items of the owner.
+        Map<String, Object> parameters = request.queryParam("from").isPresent() || request.queryParam("size").isPresent()
+                ? page(request, ItemController.DEFAULT_SIZE_OF_PAGE)
+                : new LinkedHashMap<>();
+        putAfter(request, parameters);
+        log.info(MessageHolder.GET_ALL_BY_USER_REQUEST, userId);
+        return forward(HttpMethod.GET, "/items", userId, parameters, null);
+    }
+
+    public Mono<ServerResponse> updateItem(ServerRequest request) {
+        long userId = userId(request);
+        long itemId = pathId(request, "itemId");
+        log.info(MessageHolder.GET_UPDATE_REQUEST, itemId);
+        return forward(HttpMethod.PATCH, "/items/" + itemId, userId, Map.of(), rawBody(request));
+    }
+
+    public Mono<ServerResponse> deleteItem(ServerRequest request) {
+        long userId = userId(request);
+        long itemId = pathId(request, "itemId");
+        log.info(MessageHolder.GET_UPDATE_REQUEST, itemId);
+        return forward(HttpMethod.DELETE, "/items/" + itemId, userId, Map.of(), null);
+    }
+
+    public Mono<ServerResponse> searchItems(ServerRequest request) {
+        String text = requiredParam(request, "text");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("text", text);
+        parameters.putAll(page(request, ItemController.DEFAULT_SIZE_OF_PAGE));
+        request.queryParam("cursor").ifPresent(cursor -> parameters.put("cursor", cursor));
+        log.info(MessageHolder.SEARCH_ITEMS_REQUEST, text);
+        return forward(HttpMethod.GET, "/items/search", null, parameters, null);
+    }
+
+    public Mono<ServerResponse> searchFreeItems(ServerRequest request) {
+        String text = requiredParam(request, "text");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("text", text);
+        parameters.put("start", parseDateTime("start", requiredParam(request, "start")));
+        parameters.put("end", parseDateTime("end", requiredParam(request, "end")));
+        parameters.putAll(page(request, ItemController.DEFAULT_SIZE_OF_PAGE));
+        request.queryParam("cursor").ifPresent(cursor -> parameters.put("cursor", cursor));
+        log.info(MessageHolder.SEARCH_ITEMS_REQUEST, text);
+        return forward(HttpMethod.GET, "/items/search/available", null, parameters, null);
+    }
+
+    public Mono<ServerResponse> createComment(ServerRequest request) {
+        long userId = userId(request);
+        long itemId = pathId(request, "itemId");
+        return validBody(request, CommentDto.class)
+                .doOnNext(commentDto -> log.info(MessageHolder.GET_UPDATE_REQUEST, itemId))
+                .flatMap(commentDto -> forward(HttpMethod.POST, "/items/" + itemId + "/comment", userId, Map.of(),
+                        BodyInserters.fromValue(commentDto)));
+    }
+
+    public Mono<ServerResponse> createBooking(ServerRequest request) {
+        long userId = userId(request);
+        return validBody(request, BookItemRequestDto.class)
+                .doOnNext(bookingDto -> log.info(MessageHolder.GET_CREATE_REQUEST, bookingDto))
+                .flatMap(bookingDto -> forward(HttpMethod.POST, "/bookings", userId, Map.of(),
+                        BodyInserters.fromValue(bookingDto)));
+    }
+
+    public Mono<ServerResponse> createBookings(ServerRequest request) {
+        long userId = userId(request);
+        return request.bodyToMono(BOOKING_BATCH)
+                .defaultIfEmpty(List.of())
+                .doOnNext(bookingDtos -> {
+                    if (bookingDtos.isEmpty() || bookingDtos.size() > BookingController.MAX_BATCH_SIZE) {
+                        throw new NotValidBatchSizeException(String.format(MessageHolder.BOOKING_BATCH_SIZE, BookingController.MAX_BATCH_SIZE));
+                    }
+                    log.info(MessageHolder.GET_CREATE_REQUEST, bookingDtos);
+                })
+                .flatMap(bookingDtos -> forward(HttpMethod.POST, "/bookings/batch", userId, Map.of(),
+                        BodyInserters.fromValue(bookingDtos)));
+    }
+
+    public Mono<ServerResponse> getBooking(ServerRequest request) {
+        long userId = userId(request);
+        long bookingId = pathId(request, "bookingId");
+        log.info(MessageHolder.GET_REQUEST, bookingId);
+        return forward(HttpMethod.GET, "/bookings/" + bookingId, userId, Map.of(), null);
+    }
+
+    public Mono<ServerResponse> getBookings(ServerRequest request) {
+        return getBookingPage(request, "/bookings");
+    }
+
+    public Mono<ServerResponse> getOwnBookings(ServerRequest request) {
+        return getBookingPage(request, "/bookings/owner");
+    }
+
+    public Mono<ServerResponse> approveBooking(ServerRequest request) {
+        long userId = userId(request);
+        long bookingId = pathId(request, "bookingId");
+        String approved = request.queryParam("approved")
+                .orElseThrow(() -> new ServerWebInputException(String.format(MessageHolder.REQUIRED_PARAMETER, "approved")));
+        if (!approved.equalsIgnoreCase("true") && !approved.equalsIgnoreCase("false")) {
+            throw new ServerWebInputException(String.format(MessageHolder.INVALID_PARAMETER, "approved", approved));
+        }
+        log.info(MessageHolder.GET_UPDATE_REQUEST, bookingId);
+        return forward(HttpMethod.PATCH, "/bookings/" + bookingId, userId,
+                Map.of("approved", Boolean.parseBoolean(approved)), null);
+    }
+
+    public Mono<ServerResponse> createRequest(ServerRequest request) {
+        long userId = userId(request);
+        return validBody(request, RequestDto.class)
+                .doOnNext(requestDto -> log.info(MessageHolder.GET_CREATE_REQUEST, requestDto))
+                .flatMap(requestDto -> forward(HttpMethod.POST, "/requests", userId, Map.of(),
+                        BodyInserters.fromValue(requestDto)));
+    }
+
+    public Mono<ServerResponse> getRequest(ServerRequest request) {
+        long userId = userId(request);
+        long requestId = pathId(request, "requestId");
+        log.info(MessageHolder.GET_REQUEST, requestId);
+        return forward(HttpMethod.GET, "/requests/" + requestId, userId, Map.of(), null);
+    }
+
+    public Mono<ServerResponse> getRequests(ServerRequest request) {
+        long userId = userId(request);
+        log.info(MessageHolder.GET_OWN_REQUESTS, userId);
+        return forward(HttpMethod.GET, "/requests/all", userId, page(request, RequestController.DEFAULT_SIZE_OF_PAGE), null);
+    }
+
+    public Mono<ServerResponse> getOwnRequests(ServerRequest request) {
+        long userId = userId(request);
+        log.info(MessageHolder.GET_OWN_REQUESTS, userId);
+        return forward(HttpMethod.GET, "/requests", userId, Map.of(), null);
+    }
+
+    private Mono<ServerResponse> getBookingPage(ServerRequest request, String path) {
+        long userId = userId(request);
+        String stateParam = request.queryParam("state").orElse("all");
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new UnSupportedStatusException(String.format(MessageHolder.UNSUPPORTED_STATUS, stateParam)));
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("state", state.name());
+        parameters.putAll(page(request, BookingController.DEFAULT_SIZE_OF_PAGE));
+        request.queryParam("cursor").ifPresent(cursor -> parameters.put("cursor", cursor));
+        log.info(MessageHolder.GET_ALL_REQUEST);
+        return forward(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    private Mono<ServerResponse> forward(HttpMethod method, String path, @Nullable Long userId,
+                                         Map<String, Object> parameters,
+                                         @Nullable BodyInserter<?, ? super ClientHttpRequest> body) {
+        WebClient.RequestBodySpec serverRequest = shareItServerWebClient.method(method)
+                .uri(builder -> {
+                    builder.path(path);
+                    parameters.keySet().forEach(name -> builder.queryParam(name, "{" + name + "}"));
+                    return builder.build(parameters);
+                })
+                .accept(MediaType.APPLICATION_JSON);
+        if (userId != null) {
+            serverRequest.header(USER_HEADER, String.valueOf(userId));
+        }
+        if (body != null) {
+            serverRequest.contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        return serverRequest.retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(response -> ServerResponse.status(response.getStatusCode())
+                        .headers(headers -> headers.addAll(ForwardedHeaders.of(response.getHeaders())))
+                        .body(BodyInserters.fromDataBuffers(response.getBody())));
+    }
+
+    private <T> Mono<T> validBody(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException(
+                        String.format(MessageHolder.REQUIRED_PARAMETER, "body"))))
+                .doOnNext(body -> {
+                    Set<ConstraintViolation<T>> violations = validator.validate(body);
+                    if (!violations.isEmpty()) {
+                        throw new ConstraintViolationException(violations);
+                    }
+                });
+    }
+
+    // Partial updates are not validated by the gateway, so their bodies are passed to the server as they are.
+    private static BodyInserter<?, ? super ClientHttpRequest> rawBody(ServerRequest request) {
+        return BodyInserters.fromDataBuffers(request.bodyToFlux(DataBuffer.class));
+    }
+
+    private static long userId(ServerRequest request) {
+        String userId = request.headers().firstHeader(USER_HEADER);
+        if (userId == null) {
+            throw new ServerWebInputException(String.format(MessageHolder.REQUIRED_PARAMETER, USER_HEADER));
+        }
+        return parseLong(USER_HEADER, userId);
+    }
+
+    private static long pathId(ServerRequest request, String name) {
+        return parseLong(name, request.pathVariable(name));
+    }
+
+    // The default size is the one of the servlet controller serving the same path, so both modes page alike.
+    private static Map<String, Object> page(ServerRequest request, String defaultSize) {
+        int from = request.queryParam("from").map(value -> (int) parseLong("from", value)).orElse(0);
+        int size = (int) parseLong("size", request.queryParam("size").orElse(defaultSize));
+        if (from < 0) {
+            throw new ServerWebInputException(String.format(MessageHolder.INVALID_PARAMETER, "from", from));
+        }
+        if (size <= 0) {
+            throw new ServerWebInputException(String.format(MessageHolder.INVALID_PARAMETER, "size", size));
+        }
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        return parameters;
+    }
+
+    private static void putAfter(ServerRequest request, Map<String, Object> parameters) {
+        request.queryParam("after").map(value -> parseLong("after", value)).ifPresent(after -> {
+            if (after <= 0) {
+                throw new ServerWebInputException(String.format(MessageHolder.INVALID_PARAMETER, "after", after));
+            }
+            parameters.put("after", after);
+        });
+    }
+
+    private static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new ServerWebInputException(String.format(MessageHolder.REQUIRED_PARAMETER, name)));
+    }
+
+    private static LocalDateTime parseDateTime(String name, String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ServerWebInputException(String.format(MessageHolder.INVALID_PARAMETER, name, value));
+        }
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException(String.format(MessageHolder.INVALID_PARAMETER, name, value));
+        }
+    }
+}
@@ -1,26 +1,32 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory,
+                      ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                responseCache
         );
     }
 
@@ -29,7 +35,7 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId);
+        return cachedGet("/" + userId, null, null);
     }
 
     public ResponseEntity<Object> getUsers() {
@@ -37,10 +43,14 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> update(long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+        ResponseEntity<Object> response = patch("/" + userId, userDto);
+        responseCache.clear();
+        return response;
     }
 
     public ResponseEntity<Object> delete(long userId) {
-        return delete("/" + userId);
+        ResponseEntity<Object> response = delete("/" + userId);
+        responseCache.clear();
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,245 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ResponseCacheTest {
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final URI ITEM = URI.create("http://localhost:9090/items/1");
+    private static final URI OTHER_ITEM = URI.create("http://localhost:9090/items/2");
+    private ResponseCacheProperties properties;
+    private ResponseCache cache;
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.setTtl(Duration.ofMinutes(1));
+        cache = new ResponseCache(properties, new ObjectMapper(), SERVER_URL);
+        server = new StubServer();
+    }
+
+    @Test
+    void testHitWithinTtlIsServedWithoutServer() {
+        server.answer(ok("item v1", "\"1\""));
+
+        ResponseEntity<Object> first = cache.get(ITEM, 1L, server);
+        ResponseEntity<Object> second = cache.get(ITEM, 1L, server);
+
+        assertThat(server.eTags, hasSize(1));
+        assertThat(body(first), equalTo("item v1"));
+        assertThat(body(second), equalTo("item v1"));
+    }
+
+    @Test
+    void testResponsesAreKeptPerUser() {
+        server.answer(ok("item for owner", "\"1\""));
+        server.answer(ok("item for booker", "\"2\""));
+
+        cache.get(ITEM, 1L, server);
+        ResponseEntity<Object> forOtherUser = cache.get(ITEM, 2L, server);
+
+        assertThat(server.eTags, hasSize(2));
+        assertThat(body(forOtherUser), equalTo("item for booker"));
+    }
+
+    @Test
+    void testStaleResponseIsRevalidatedByETag() {
+        cache = new ResponseCache(withTtl(Duration.ZERO), new ObjectMapper(), SERVER_URL);
+        server.answer(ok("item v1", "\"1\""));
+        server.answer(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        cache.get(ITEM, 1L, server);
+        ResponseEntity<Object> revalidated = cache.get(ITEM, 1L, server);
+
+        assertThat(server.eTags, contains(nullValue(), equalTo("\"1\"")));
+        assertThat(revalidated.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(body(revalidated), equalTo("item v1"));
+    }
+
+    @Test
+    void testChangedResponseReplacesStaleOne() {
+        cache = new ResponseCache(withTtl(Duration.ZERO), new ObjectMapper(), SERVER_URL);
+        server.answer(ok("item v1", "\"1\""));
+        server.answer(ok("item v2", "\"2\""));
+        server.answer(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        cache.get(ITEM, 1L, server);
+        cache.get(ITEM, 1L, server);
+        ResponseEntity<Object> third = cache.get(ITEM, 1L, server);
+
+        assertThat(server.eTags, contains(nullValue(), equalTo("\"1\""), equalTo("\"2\"")));
+        assertThat(body(third), equalTo("item v2"));
+    }
+
+    @Test
+    void testWriteOnSamePathEvictsResponse() {
+        server.answer(ok("item v1", "\"1\""));
+        server.answer(ok("item v2", "\"2\""));
+
+        cache.get(ITEM, 1L, server);
+        cache.evict("/items/1");
+        ResponseEntity<Object> afterWrite = cache.get(ITEM, 1L, server);
+
+        assertThat(server.eTags, contains(nullValue(), nullValue()));
+        assertThat(body(afterWrite), equalTo("item v2"));
+    }
+
+    @Test
+    void testWriteEvictsResponseBehindServerBasePath() {
+        cache = new ResponseCache(properties, new ObjectMapper(), "http://localhost:9090/api/");
+        URI item = URI.create("http://localhost:9090/api/items/1");
+        server.answer(ok("item v1", "\"1\""));
+        server.answer(ok("item v2", "\"2\""));
+
+        cache.get(item, 1L, server);
+        cache.evict("/items/1");
+        ResponseEntity<Object> afterWrite = cache.get(item, 1L, server);
+
+        assertThat(server.eTags, contains(nullValue(), nullValue()));
+        assertThat(body(afterWrite), equalTo("item v2"));
+    }
+
+    @Test
+    void testWriteOnOtherPathKeepsResponse() {
+        server.answer(ok("item v1", "\"1\""));
+
+        cache.get(ITEM, 1L, server);
+        cache.evict("/items/2");
+        cache.get(ITEM, 1L, server);
+
+        assertThat(server.eTags, hasSize(1));
+    }
+
+    @Test
+    void testResponseFetchedBeforeEvictIsNotServedAfterwards() {
+        server.answer(ok("item v1", "\"1\""));
+        server.answer(ok("item v2", "\"2\""));
+
+        ResponseEntity<Object> inFlight = cache.get(ITEM, 1L, eTag -> {
+            ResponseEntity<byte[]> response = server.apply(eTag);
+            cache.evict("/items/1");
+            return response;
+        });
+        ResponseEntity<Object> afterWrite = cache.get(ITEM, 1L, server);
+
+        assertThat(body(inFlight), equalTo("item v1"));
+        assertThat(server.eTags, contains(nullValue(), nullValue()));
+        assertThat(body(afterWrite), equalTo("item v2"));
+    }
+
+    @Test
+    void testClearEvictsEveryPath() {
+        server.answer(ok("item 1", "\"1\""));
+        server.answer(ok("item 2", "\"2\""));
+        server.answer(ok("item 1", "\"1\""));
+        server.answer(ok("item 2", "\"2\""));
+
+        cache.get(ITEM, 1L, server);
+        cache.get(OTHER_ITEM, 1L, server);
+        cache.clear();
+        cache.get(ITEM, 1L, server);
+        cache.get(OTHER_ITEM, 1L, server);
+
+        assertThat(server.eTags, hasSize(4));
+    }
+
+    @Test
+    void testEvictReferencedEvictsPathFromServerAnswer() {
+        server.answer(ok("item v1", "\"1\""));
+        server.answer(ok("item v2", "\"2\""));
+        ResponseEntity<Object> approved = new ResponseEntity<>(
+                "{\"id\":5,\"item\":{\"id\":1}}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+        cache.get(ITEM, 1L, server);
+        cache.evictReferenced(approved, "/item/id", "/items/");
+        cache.get(ITEM, 1L, server);
+
+        assertThat(server.eTags, hasSize(2));
+    }
+
+    @Test
+    void testEvictReferencedIgnoresFailedWrite() {
+        server.answer(ok("item v1", "\"1\""));
+        ResponseEntity<Object> failed = new ResponseEntity<>(
+                "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8), HttpStatus.NOT_FOUND);
+
+        cache.get(ITEM, 1L, server);
+        cache.evictReferenced(failed, "/item/id", "/items/");
+        cache.get(ITEM, 1L, server);
+
+        assertThat(server.eTags, hasSize(1));
+    }
+
+    @Test
+    void testErrorResponseIsNotCached() {
+        server.answer(ResponseEntity.status(HttpStatus.NOT_FOUND).body("not found".getBytes(StandardCharsets.UTF_8)));
+        server.answer(ok("item v1", "\"1\""));
+
+        ResponseEntity<Object> missing = cache.get(ITEM, 1L, server);
+        ResponseEntity<Object> created = cache.get(ITEM, 1L, server);
+
+        assertThat(missing.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(body(created), equalTo("item v1"));
+    }
+
+    @Test
+    void testDisabledCacheAlwaysAsksServer() {
+        properties.setEnabled(false);
+        server.answer(ok("item v1", "\"1\""));
+        server.answer(ok("item v1", "\"1\""));
+
+        cache.get(ITEM, 1L, server);
+        cache.get(ITEM, 1L, server);
+
+        assertThat(server.eTags, contains(nullValue(), nullValue()));
+    }
+
+    private ResponseCacheProperties withTtl(Duration ttl) {
+        ResponseCacheProperties changed = new ResponseCacheProperties();
+        changed.setEnabled(true);
+        changed.setTtl(ttl);
+        return changed;
+    }
+
+    private static ResponseEntity<byte[]> ok(String body, String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        return new ResponseEntity<>(body.getBytes(StandardCharsets.UTF_8), headers, HttpStatus.OK);
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    // Answers queued responses in order and records the ETag of every request it gets.
+    private static class StubServer implements Function<String, ResponseEntity<byte[]>> {
+        private final List<ResponseEntity<byte[]>> answers = new ArrayList<>();
+        private final List<String> eTags = new ArrayList<>();
+
+        void answer(ResponseEntity<byte[]> response) {
+            answers.add(response);
+        }
+
+        @Override
+        public ResponseEntity<byte[]> apply(String eTag) {
+            eTags.add(eTag);
+            return answers.remove(0);
+        }
+    }
+}
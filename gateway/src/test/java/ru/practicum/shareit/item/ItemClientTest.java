@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+public class ItemClientTest {
+    private static final String SERVER_URL = "http://localhost:9090/api";
+    private final List<String> requests = new ArrayList<>();
+    private ItemClient itemClient;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        ClientHttpRequestFactory server = (uri, method) -> {
+            requests.add(method + " " + uri.getPath());
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(method == HttpMethod.GET
+                    ? new MockClientHttpResponse("{\"id\":1}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK)
+                    : new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+            return request;
+        };
+        itemClient = new ItemClient(SERVER_URL, new RestTemplateBuilder(), server,
+                new ResponseCache(properties, new ObjectMapper(), SERVER_URL));
+    }
+
+    @Test
+    void testGetItemIsCached() {
+        itemClient.getItem(1L, 1L);
+        itemClient.getItem(1L, 1L);
+
+        assertThat(requests, contains("GET /api/items/1"));
+    }
+
+    @Test
+    void testUpdateEvictsCachedItem() {
+        itemClient.getItem(1L, 1L);
+        itemClient.update(1L, 1L, new ItemDtoWithOutBooking());
+        itemClient.getItem(1L, 1L);
+
+        assertThat(requests, contains("GET /api/items/1", "PATCH /api/items/1", "GET /api/items/1"));
+    }
+
+    // Deleting an item can change other cached answers, e.g. the items of a request, so the whole cache goes.
+    @Test
+    void testDeleteEvictsEveryCachedItem() {
+        itemClient.getItem(1L, 1L);
+        itemClient.delete(1L, 2L);
+        itemClient.getItem(1L, 1L);
+
+        assertThat(requests, contains("GET /api/items/1", "DELETE /api/items/2", "GET /api/items/1"));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.RequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import javax.validation.Validation;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * Sends the same invalid requests to the servlet controllers and to the reactive routes: both modes must turn them
+ * away with the same status before anything reaches the server.
+ */
+@WebMvcTest
+public class ReactiveGatewayValidationTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    @Autowired
+    private MockMvc mvc;
+    @MockBean
+    private UserClient userClient;
+    @MockBean
+    private ItemClient itemClient;
+    @MockBean
+    private BookingClient bookingClient;
+    @MockBean
+    private RequestClient requestClient;
+    private WebTestClient reactive;
+
+    @BeforeEach
+    void setUp() {
+        // Nothing listens there: a request that passed validation would be answered with 503, not 400.
+        ReactiveGatewayHandler handler = new ReactiveGatewayHandler(WebClient.create("http://localhost:1"),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        reactive = WebTestClient.bindToRouterFunction(new ReactiveGatewayConfig().gatewayRoutes(handler)).build();
+    }
+
+    @Test
+    void testNegativeFrom() throws Exception {
+        assertSameStatus(HttpMethod.GET, "/requests/all?from=-1", null, HttpStatus.BAD_REQUEST);
+        assertSameStatus(HttpMethod.GET, "/items?from=-1", null, HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testNotPositiveSize() throws Exception {
+        assertSameStatus(HttpMethod.GET, "/bookings?size=0", null, HttpStatus.BAD_REQUEST);
+        assertSameStatus(HttpMethod.GET, "/items/search?text=drill&size=0", null, HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testNotPositiveAfter() throws Exception {
+        assertSameStatus(HttpMethod.GET, "/items?after=0", null, HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testUnknownBookingState() throws Exception {
+        assertSameStatus(HttpMethod.GET, "/bookings?state=unknown", null, HttpStatus.BAD_REQUEST);
+        assertSameStatus(HttpMethod.GET, "/bookings/owner?state=unknown", null, HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testEmptyBookingBatch() throws Exception {
+        assertSameStatus(HttpMethod.POST, "/bookings/batch", "[]", HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testTooLargeBookingBatch() throws Exception {
+        String booking = String.format("{\"itemId\":1,\"start\":\"%s\",\"end\":\"%s\"}",
+                LocalDateTime.now().plusDays(1).withNano(0), LocalDateTime.now().plusDays(2).withNano(0));
+        String batch = "[" + String.join(",", Collections.nCopies(BookingController.MAX_BATCH_SIZE + 1, booking)) + "]";
+        assertSameStatus(HttpMethod.POST, "/bookings/batch", batch, HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testBookingInPast() throws Exception {
+        String booking = String.format("{\"itemId\":1,\"start\":\"%s\",\"end\":\"%s\"}",
+                LocalDateTime.now().minusDays(2).withNano(0), LocalDateTime.now().minusDays(1).withNano(0));
+        assertSameStatus(HttpMethod.POST, "/bookings", booking, HttpStatus.BAD_REQUEST);
+    }
+
+    private void assertSameStatus(HttpMethod method, String uri, String body, HttpStatus expected) throws Exception {
+        MockHttpServletRequestBuilder servletRequest = request(method, uri).header(USER_HEADER, 1);
+        WebTestClient.RequestBodySpec reactiveRequest = reactive.method(method).uri(uri).header(USER_HEADER, "1");
+        if (body != null) {
+            servletRequest.contentType(MediaType.APPLICATION_JSON).content(body);
+            reactiveRequest.contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+        }
+        int servletStatus = mvc.perform(servletRequest).andReturn().getResponse().getStatus();
+        int reactiveStatus = reactiveRequest.exchange().returnResult(String.class).getStatus().value();
+        assertThat(method + " " + uri + " in servlet mode", servletStatus, equalTo(expected.value()));
+        assertThat(method + " " + uri + " in reactive mode", reactiveStatus, equalTo(expected.value()));
+    }
+}
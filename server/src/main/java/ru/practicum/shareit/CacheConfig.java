@@ -0,0 +1,44 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.users.spec}") String usersSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS);
+        cacheManager.setCacheSpecification(usersSpec);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache()
+                    .getRegionFactory();
+            javax.cache.CacheManager cacheManager = ((JCacheRegionFactory) regionFactory).getCacheManager();
+            for (String name : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(name));
+            }
+        };
+    }
+}
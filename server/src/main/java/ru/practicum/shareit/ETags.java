@@ -0,0 +1,24 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.StringJoiner;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ETags {
+
+    public static String of(String kind, long id, Object... parts) {
+        StringJoiner eTag = new StringJoiner("-", "\"", "\"");
+        eTag.add(kind).add(String.valueOf(id));
+        for (Object part : parts) {
+            if (part instanceof VersionStamp) {
+                VersionStamp stamp = (VersionStamp) part;
+                eTag.add(stamp.getTotal() + "." + stamp.getLastId() + "." + stamp.getVersions());
+            } else {
+                eTag.add(String.valueOf(part));
+            }
+        }
+        return eTag.toString();
+    }
+}
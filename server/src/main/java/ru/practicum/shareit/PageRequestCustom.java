@@ -4,8 +4,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
 public class PageRequestCustom extends PageRequest {
+    private final int from;
 
     public PageRequestCustom(int from, int size, Sort sort) {
         super(from / size, size, sort);
+        this.from = from;
     }
-}
\ No newline at end of file
+
+    @Override
+    public long getOffset() {
+        return from;
+    }
+}
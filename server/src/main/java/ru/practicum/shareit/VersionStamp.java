@@ -0,0 +1,13 @@
+package ru.practicum.shareit;
+
+/**
+ * Summary of the rows embedded in a response: adding or removing a row changes the total or the last id,
+ * and any versioned update raises the sum of versions.
+ */
+public interface VersionStamp {
+    long getTotal();
+
+    long getLastId();
+
+    long getVersions();
+}
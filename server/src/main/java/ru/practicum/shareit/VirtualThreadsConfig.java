@@ -0,0 +1,61 @@
+package ru.practicum.shareit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import ru.practicum.shareit.messageManager.MessageHolder;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean(name = "applicationTaskExecutor", destroyMethod = "shutdown")
+    public ExecutorService applicationTaskExecutor() {
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer(
+            ExecutorService applicationTaskExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(applicationTaskExecutor);
+    }
+
+    // Request threads are no longer a limit, so the pool size is enforced before callers reach Hikari.
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource)) {
+                    return bean;
+                }
+                HikariDataSource dataSource = (HikariDataSource) bean;
+                int permits = environment.getProperty("shareit.threads.virtual.jdbc-permits", Integer.class,
+                        dataSource.getMaximumPoolSize());
+                log.info(MessageHolder.VIRTUAL_THREADS_ENABLED, permits);
+                return new ConcurrencyLimitingDataSource(dataSource, permits, dataSource.getConnectionTimeout());
+            }
+        };
+    }
+
+    // Looked up reflectively, the project still compiles for Java 11.
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(String.format(MessageHolder.VIRTUAL_THREADS_UNSUPPORTED,
+                    Runtime.version().feature()), e);
+        }
+    }
+}
@@ -3,8 +3,10 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.PageRequestCustom;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
 import ru.practicum.shareit.messageManager.MessageHolder;
@@ -16,7 +18,8 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
-    public static final Sort SORT_BY_START_DESC = Sort.by("start").descending();
+    public static final Sort SORT_BY_START_DESC = BookingCursor.ORDER;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     public static final String DEFAULT_SIZE_OF_PAGE = "10";
     private final BookingService service;
 
@@ -26,6 +29,13 @@ public class BookingController {
         return service.create(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody List<BookingDto> bookingDtos) {
+        log.info(MessageHolder.GET_CREATE_REQUEST, bookingDtos);
+        return service.createAll(userId, bookingDtos);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDtoWithInfo get(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long bookingId) {
         log.info(MessageHolder.GET_REQUEST, bookingId);
@@ -33,25 +43,25 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoWithInfo> getAllByBooker(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestParam(defaultValue = "0") Integer from,
-                                                   @RequestParam(defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size) {
+    public ResponseEntity<List<BookingDtoWithInfo>> getAllByBooker(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info(MessageHolder.GET_ALL_REQUEST);
-        return service.getAllByBooker(
-                userId, new Filter(new StateHolder(state), new PageRequestCustom(from, size, SORT_BY_START_DESC))
-        );
+        return withNextCursor(service.getAllByBooker(userId, makeFilter(state, from, size, cursor)), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoWithInfo> getAllByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(defaultValue = "ALL") String state,
-                                                  @RequestParam(defaultValue = "0") Integer from,
-                                                  @RequestParam(defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size) {
+    public ResponseEntity<List<BookingDtoWithInfo>> getAllByOwner(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info(MessageHolder.GET_ALL_REQUEST);
-        return service.getAllByOwner(
-                userId, new Filter(new StateHolder(state), new PageRequestCustom(from, size, SORT_BY_START_DESC))
-        );
+        return withNextCursor(service.getAllByOwner(userId, makeFilter(state, from, size, cursor)), size);
     }
 
     @PatchMapping("/{bookingId}")
@@ -61,4 +71,20 @@ public class BookingController {
         log.info(MessageHolder.GET_UPDATE_REQUEST, bookingId);
         return service.approve(userId, bookingId, isApproved);
     }
+
+    private Filter makeFilter(String state, Integer from, Integer size, String cursor) {
+        return new Filter(
+                new StateHolder(state),
+                new PageRequestCustom(from, size, SORT_BY_START_DESC),
+                cursor != null ? BookingCursor.decode(cursor) : null
+        );
+    }
+
+    private ResponseEntity<List<BookingDtoWithInfo>> withNextCursor(List<BookingDtoWithInfo> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
+import ru.practicum.shareit.exception.NotValidCursorException;
+import ru.practicum.shareit.messageManager.MessageHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@AllArgsConstructor
+@Getter
+public class BookingCursor {
+    public static final Sort ORDER = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id"));
+    private static final String SEPARATOR = "_";
+    private final LocalDateTime start;
+    private final long id;
+
+    public static BookingCursor of(BookingDtoWithInfo booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new NotValidCursorException(String.format(MessageHolder.CURSOR_NOT_VALID, token));
+            }
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new NotValidCursorException(String.format(MessageHolder.CURSOR_NOT_VALID, token));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
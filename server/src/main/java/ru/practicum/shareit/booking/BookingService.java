@@ -1,8 +1,8 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
-import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 
@@ -10,6 +10,8 @@ public interface BookingService {
 
     BookingDtoWithInfo create(long userId, BookingDto bookingDto);
 
+    List<BookingBatchResultDto> createAll(long userId, List<BookingDto> bookingDtos);
+
     BookingDtoWithInfo get(long userId, long bookingId);
 
     List<BookingDtoWithInfo> getAllByBooker(long bookerId, Filter filter);
@@ -17,6 +19,4 @@ public interface BookingService {
     List<BookingDtoWithInfo> getAllByOwner(long userId, Filter filter);
 
     BookingDtoWithInfo approve(long userId, long bookingId, boolean isApproved);
-
-    User getUser(long userId);
 }
\ No newline at end of file
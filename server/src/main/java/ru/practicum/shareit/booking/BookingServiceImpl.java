@@ -2,8 +2,18 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.booking.calendar.BookingSlot;
+import ru.practicum.shareit.booking.calendar.IntervalTree;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.BookingSpecifications;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
 import ru.practicum.shareit.booking.model.Booking;
@@ -11,14 +21,12 @@ import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.messageManager.MessageHolder;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,34 +34,86 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
+    private final AvailabilityCalendar availabilityCalendar;
 
     @Override
+    @Transactional
     public BookingDtoWithInfo create(long userId, BookingDto bookingDto) {
         dateIsValid(bookingDto);
-        BookingDtoWithInfo result;
         Item item = itemRepository.getReferenceById(bookingDto.getItemId());
-        User booker = getUser(userId);
+        User booker = userLookup.get(userId);
+        isBookable(item, booker);
         Booking booking = BookingMapper.mapToBookingEntity(bookingDto, item, booker);
-        if (booker.getId() != booking.getItem().getUser().getId() && item.getAvailable()) {
-            result = BookingMapper.mapToBookingInfo(bookingRepository.save(booking));
-            log.info(MessageHolder.SUCCESS_CREATE, result);
-        } else if (booker.getId() != booking.getItem().getUser().getId() && !item.getAvailable()) {
-            throw new NotAvailableItemException(
-                    String.format(MessageHolder.AVAILABLE_NOT_AVAILABLE, item.getId())
-            );
-        } else {
-            throw new NotFoundException(
-                    String.format(MessageHolder.OWNER_ITEM, userId)
-            );
+        // The calendar turns away known conflicts early, the insert itself stays the final check.
+        long bookingId = availabilityCalendar.isFree(item.getId(), booking.getStart(), booking.getEnd())
+                ? bookingRepository.insertIfFree(booking)
+                : 0;
+        if (bookingId == 0) {
+            throw new NotAvailableItemException(String.format(MessageHolder.BOOKING_OVERLAP, item.getId()));
         }
+        booking.setId(bookingId);
+        availabilityCalendar.put(booking);
+        BookingDtoWithInfo result = BookingMapper.mapToBookingInfo(booking);
+        log.info(MessageHolder.SUCCESS_CREATE, result);
         return result;
     }
 
+    // Items and approved bookings of the whole batch are read with one query each, valid entries are inserted in JDBC batches.
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> createAll(long userId, List<BookingDto> bookingDtos) {
+        User booker = userLookup.get(userId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingDtos.size()];
+        Map<Integer, Booking> bookings = new LinkedHashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            if (bookingDto == null) {
+                results[i] = BookingBatchResultDto.failed(MessageHolder.BOOKING_IS_NULL);
+                continue;
+            }
+            try {
+                dateIsValid(bookingDto);
+                Item item = items.get(bookingDto.getItemId());
+                if (item == null) {
+                    throw new NotFoundException(String.format(MessageHolder.ITEM_NOT_FOUND, bookingDto.getItemId()));
+                }
+                isBookable(item, booker);
+                bookings.put(i, BookingMapper.mapToBookingEntity(bookingDto, item, booker));
+            } catch (NotValidDateException | NotFoundException | NotAvailableItemException e) {
+                results[i] = BookingBatchResultDto.failed(e.getMessage());
+            }
+        }
+        Map<Long, IntervalTree> approved = findApproved(bookings.values());
+        bookings.entrySet().removeIf(entry -> {
+            Booking booking = entry.getValue();
+            IntervalTree calendar = approved.get(booking.getItem().getId());
+            if (calendar == null || calendar.findOverlapping(booking.getStart(), booking.getEnd()).isEmpty()) {
+                return false;
+            }
+            results[entry.getKey()] = BookingBatchResultDto.failed(
+                    String.format(MessageHolder.BOOKING_OVERLAP, booking.getItem().getId()));
+            return true;
+        });
+        bookingRepository.saveAll(bookings.values());
+        bookings.forEach((index, booking) -> {
+            availabilityCalendar.put(booking);
+            results[index] = BookingBatchResultDto.created(BookingMapper.mapToBookingInfo(booking));
+        });
+        log.info(MessageHolder.SUCCESS_CREATE_BATCH, bookings.size(), bookingDtos.size());
+        return Arrays.asList(results);
+    }
+
     @Override
     public BookingDtoWithInfo get(long userId, long bookingId) {
-        User user = getUser(userId);
+        User user = userLookup.get(userId);
         Booking booking = bookingRepository.getReferenceById(bookingId);
         if (user.getId() == booking.getBooker().getId() || userId == booking.getItem().getUser().getId()) {
             log.info(MessageHolder.SUCCESS_GET, userId);
@@ -67,134 +127,91 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDtoWithInfo> getAllByBooker(long bookerId, Filter filter) {
-        User booker = getUser(bookerId);
-        Set<BookingState> states = new HashSet<>();
-        List<Booking> bookings = new ArrayList<>();
-        List<BookingDtoWithInfo> result;
-        BookingState bookingState = filter.getStateHolder().getState();
-        switch (bookingState) {
-            case ALL:
-                states.addAll(List.of(BookingState.values()));
-                bookings = bookingRepository.findByBookerIdAndStateIn(
-                        booker.getId(),
-                        states,
-                        filter.getPageRequest()
-                );
-                break;
-            case APPROVED:
-            case REJECTED:
-            case WAITING:
-                states.add(bookingState);
-                bookings = bookingRepository.findByBookerIdAndStateIn(
-                        booker.getId(),
-                        states,
-                        filter.getPageRequest()
-                );
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
-                        booker.getId(),
-                        LocalDateTime.now()
-                );
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        booker.getId(),
-                        LocalDateTime.now(),
-                        LocalDateTime.now()
-                );
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
-                        booker.getId(),
-                        LocalDateTime.now()
-                );
-                break;
-        }
-        result = bookings.stream()
-                .map(BookingMapper::mapToBookingInfo)
-                .collect(Collectors.toList());
-        return result;
+        User booker = userLookup.get(bookerId);
+        return getAll(BookingSpecifications.byBooker(booker.getId()), filter);
     }
 
     @Override
     public List<BookingDtoWithInfo> getAllByOwner(long ownerId, Filter filter) {
-        User owner = getUser(ownerId);
-        Set<BookingState> states = new HashSet<>();
-        List<Booking> bookings = new ArrayList<>();
-        List<BookingDtoWithInfo> result;
-        BookingState bookingState = filter.getStateHolder().getState();
-        switch (bookingState) {
-            case ALL:
-                states.addAll(List.of(BookingState.values()));
-                bookings = bookingRepository.findByItemUserIdAndStateIn(
-                        owner.getId(),
-                        states,
-                        filter.getPageRequest()
-                );
-                break;
-            case APPROVED:
-            case REJECTED:
-            case WAITING:
-                states.add(bookingState);
-                bookings = bookingRepository.findByItemUserIdAndStateIn(
-                        owner.getId(),
-                        states,
-                        filter.getPageRequest()
-                );
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemUserIdAndEndBeforeOrderByStartDesc(
-                        owner.getId(),
-                        LocalDateTime.now(),
-                        filter.getPageRequest()
-                );
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItemUserIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        owner.getId(),
-                        LocalDateTime.now(),
-                        LocalDateTime.now(),
-                        filter.getPageRequest()
-                );
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemUserIdAndStartAfterOrderByStartDesc(
-                        owner.getId(),
-                        LocalDateTime.now(),
-                        filter.getPageRequest()
-                );
-                break;
-            default:
-
-        }
-        result = bookings.stream()
-                .map(BookingMapper::mapToBookingInfo)
-                .collect(Collectors.toList());
-        return result;
+        User owner = userLookup.get(ownerId);
+        return getAll(BookingSpecifications.byOwner(owner.getId()), filter);
     }
 
     @Override
+    @Transactional
     public BookingDtoWithInfo approve(long userId, long bookingId, boolean isApproved) {
-        User user = getUser(userId);
-        Booking booking = bookingRepository.getReferenceById(bookingId);
-        if (booking.getState().equals(BookingState.WAITING)) {
-            if (user.getId() == booking.getItem().getUser().getId()) {
-                if (isApproved) {
-                    booking.setState(BookingState.APPROVED);
-                } else {
-                    booking.setState(BookingState.REJECTED);
-                }
-                BookingDtoWithInfo result = BookingMapper.mapToBookingInfo(bookingRepository.save(booking));
-                log.info(MessageHolder.SUCCESS_CREATE, result);
-                return result;
-            } else {
+        User user = userLookup.get(userId);
+        // The state, owner and overlap checks are part of the update, so only one of concurrent calls can win.
+        // Approvals of one item are serialized by the item row lock: H2 has no exclusion constraint, and under
+        // READ COMMITTED two overlapping bookings could otherwise both pass the overlap check.
+        itemRepository.lockByBookingId(bookingId);
+        int updated;
+        try {
+            updated = isApproved
+                    ? bookingRepository.approveIfWaiting(bookingId, user.getId())
+                    : bookingRepository.rejectIfWaiting(bookingId, user.getId());
+        } catch (DataIntegrityViolationException e) {
+            throw new NotAvailableItemException(String.format(MessageHolder.APPROVED_BOOKING_OVERLAP, bookingId));
+        }
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format(MessageHolder.BOOKING_NOT_FOUND, bookingId)));
+        if (updated == 0) {
+            if (!booking.getState().equals(BookingState.WAITING)) {
+                throw new NotValidDataForUpdateException(String.format(MessageHolder.BOOKING_ALREADY_APPROVED, bookingId));
+            }
+            if (user.getId() != booking.getItem().getUser().getId()) {
                 throw new NotValidOwnerException(
                         String.format(MessageHolder.USER_ID_NOT_VALID, userId, booking.getItem().getId())
                 );
             }
-        } else {
-            throw new NotValidDataForUpdateException(String.format(MessageHolder.BOOKING_ALREADY_APPROVED, bookingId));
+            throw new NotAvailableItemException(String.format(MessageHolder.APPROVED_BOOKING_OVERLAP, bookingId));
+        }
+        availabilityCalendar.put(booking);
+        BookingDtoWithInfo result = BookingMapper.mapToBookingInfo(booking);
+        log.info(MessageHolder.SUCCESS_CREATE, result);
+        return result;
+    }
+
+    private List<BookingDtoWithInfo> getAll(Specification<Booking> role, Filter filter) {
+        Specification<Booking> specification = role.and(
+                BookingSpecifications.byState(filter.getStateHolder().getState(), LocalDateTime.now())
+        );
+        Pageable pageable = filter.getPageRequest();
+        if (filter.getCursor() != null) {
+            specification = specification.and(BookingSpecifications.after(filter.getCursor()));
+            pageable = PageRequest.of(0, pageable.getPageSize(), BookingCursor.ORDER);
+        }
+        return bookingRepository.findPage(specification, pageable).stream()
+                .map(BookingMapper::mapToBookingInfo)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, IntervalTree> findApproved(Collection<Booking> bookings) {
+        Map<Long, IntervalTree> approved = new HashMap<>();
+        if (bookings.isEmpty()) {
+            return approved;
+        }
+        Set<Long> itemIds = new HashSet<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (Booking booking : bookings) {
+            itemIds.add(booking.getItem().getId());
+            start = start == null || booking.getStart().isBefore(start) ? booking.getStart() : start;
+            end = end == null || booking.getEnd().isAfter(end) ? booking.getEnd() : end;
+        }
+        for (Booking booking : bookingRepository.findApprovedOverlapping(itemIds, start, end)) {
+            approved.computeIfAbsent(booking.getItem().getId(), itemId -> new IntervalTree())
+                    .put(BookingSlot.of(booking));
+        }
+        return approved;
+    }
+
+    private void isBookable(Item item, User booker) {
+        if (booker.getId() == item.getUser().getId()) {
+            throw new NotFoundException(String.format(MessageHolder.OWNER_ITEM, booker.getId()));
+        }
+        if (!item.getAvailable()) {
+            throw new NotAvailableItemException(String.format(MessageHolder.AVAILABLE_NOT_AVAILABLE, item.getId()));
         }
     }
 
@@ -219,14 +236,4 @@ public class BookingServiceImpl implements BookingService {
             throw new NotValidDateException(MessageHolder.START_EQUAL_END);
         }
     }
-
-    @Override
-    public User getUser(long userId) {
-        User result = new User();
-        User user = userRepository.getReferenceById(userId);
-        if (user.getName() != null) {
-            result = user;
-        }
-        return result;
-    }
 }
\ No newline at end of file
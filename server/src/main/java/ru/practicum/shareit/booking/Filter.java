@@ -11,4 +11,9 @@ import ru.practicum.shareit.PageRequestCustom;
 public class Filter {
     private StateHolder stateHolder;
     private PageRequestCustom pageRequest;
-}
\ No newline at end of file
+    private BookingCursor cursor;
+
+    public Filter(StateHolder stateHolder, PageRequestCustom pageRequest) {
+        this(stateHolder, pageRequest, null);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking.calendar;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Not rejected bookings of recently used items, kept as one interval tree per item.
+ * A tree is loaded on first use and then follows the bookings created and approved through this instance.
+ * Bookings written through other instances show up only when the tree expires ({@code shareit.calendar.spec}),
+ * so inserts and approvals keep their own database checks.
+ */
+@Component
+public class AvailabilityCalendar implements MeterBinder {
+    private final BookingRepository bookingRepository;
+    private final LoadingCache<Long, IntervalTree> calendars;
+
+    public AvailabilityCalendar(BookingRepository bookingRepository,
+                                @Value("${shareit.calendar.spec}") String spec) {
+        this.bookingRepository = bookingRepository;
+        this.calendars = Caffeine.from(spec).build(this::load);
+    }
+
+    public Optional<BookingSlot> findLast(long itemId, LocalDateTime now) {
+        IntervalTree calendar = calendars.get(itemId);
+        synchronized (calendar) {
+            return Optional.ofNullable(calendar.findLastStartedBefore(now));
+        }
+    }
+
+    public Optional<BookingSlot> findNext(long itemId, LocalDateTime now) {
+        IntervalTree calendar = calendars.get(itemId);
+        synchronized (calendar) {
+            return Optional.ofNullable(calendar.findFirstStartedAfter(now));
+        }
+    }
+
+    // Only approved bookings take the item; waiting ones may still be rejected.
+    public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        IntervalTree calendar = calendars.get(itemId);
+        synchronized (calendar) {
+            return calendar.findOverlapping(start, end).stream()
+                    .noneMatch(slot -> slot.getState() == BookingState.APPROVED);
+        }
+    }
+
+    public void put(Booking booking) {
+        long itemId = booking.getItem().getId();
+        BookingSlot slot = BookingSlot.of(booking);
+        afterCommit(() -> calendars.asMap().compute(itemId, (id, calendar) -> {
+            // compute waits for a load of the same item in progress, so the change is never lost.
+            if (calendar != null) {
+                synchronized (calendar) {
+                    if (slot.getState() == BookingState.REJECTED) {
+                        calendar.remove(slot.getId());
+                    } else {
+                        calendar.put(slot);
+                    }
+                }
+            }
+            return calendar;
+        }));
+    }
+
+    public void evict(long itemId) {
+        afterCommit(() -> calendars.invalidate(itemId));
+    }
+
+    public void clear() {
+        calendars.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, calendars, "availabilityCalendar");
+    }
+
+    // Bookings that have ended are never next or overlapped again, only the last started one is still shown.
+    private IntervalTree load(long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        IntervalTree calendar = new IntervalTree();
+        bookingRepository.findByItemIdAndStateNotAndEndAfter(itemId, BookingState.REJECTED, now)
+                .forEach(booking -> calendar.put(BookingSlot.of(booking)));
+        bookingRepository.findFirstByItemIdAndStateNotAndStartBeforeOrderByStartDesc(itemId, BookingState.REJECTED, now)
+                .ifPresent(booking -> calendar.put(BookingSlot.of(booking)));
+        return calendar;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingSlot {
+    private final long id;
+    private final long bookerId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final BookingState state;
+
+    public static BookingSlot of(Booking booking) {
+        return new BookingSlot(booking.getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd(),
+                booking.getState());
+    }
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bookings of one item ordered by start, where every node also keeps the latest end in its subtree,
+ * so overlap, previous and next lookups only walk one path of the tree. Not thread-safe.
+ */
+public class IntervalTree {
+    private static final Comparator<BookingSlot> ORDER = Comparator.comparing(BookingSlot::getStart)
+            .thenComparingLong(BookingSlot::getId);
+    private final Map<Long, BookingSlot> slots = new HashMap<>();
+    private Node root;
+
+    public void put(BookingSlot slot) {
+        remove(slot.getId());
+        slots.put(slot.getId(), slot);
+        root = insert(root, new Node(slot, ThreadLocalRandom.current().nextInt()));
+    }
+
+    public boolean remove(long id) {
+        BookingSlot slot = slots.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        root = delete(root, slot);
+        return true;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    // The booking with the latest start strictly before the given moment.
+    public BookingSlot findLastStartedBefore(LocalDateTime moment) {
+        BookingSlot result = null;
+        Node node = root;
+        while (node != null) {
+            if (node.slot.getStart().isBefore(moment)) {
+                result = node.slot;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    // The booking with the earliest start strictly after the given moment.
+    public BookingSlot findFirstStartedAfter(LocalDateTime moment) {
+        BookingSlot result = null;
+        Node node = root;
+        while (node != null) {
+            if (node.slot.getStart().isAfter(moment)) {
+                result = node.slot;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    // Bookings whose [start, end) intersects [start, end), ordered by start.
+    public List<BookingSlot> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<BookingSlot> result = new ArrayList<>();
+        collectOverlapping(root, start, end, result);
+        return result;
+    }
+
+    private static void collectOverlapping(Node node, LocalDateTime start, LocalDateTime end, List<BookingSlot> result) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, result);
+        if (!node.slot.getStart().isBefore(end)) {
+            return;
+        }
+        if (node.slot.getEnd().isAfter(start)) {
+            result.add(node.slot);
+        }
+        collectOverlapping(node.right, start, end, result);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            split(node, inserted.slot, inserted);
+            return inserted.update();
+        }
+        if (ORDER.compare(inserted.slot, node.slot) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return node.update();
+    }
+
+    private static Node delete(Node node, BookingSlot slot) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = ORDER.compare(slot, node.slot);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, slot);
+        } else {
+            node.right = delete(node.right, slot);
+        }
+        return node.update();
+    }
+
+    // Puts the nodes ordered before the key into target.left and the rest into target.right.
+    private static void split(Node node, BookingSlot key, Node target) {
+        if (node == null) {
+            target.left = null;
+            target.right = null;
+            return;
+        }
+        Node parts = new Node(null, 0);
+        if (ORDER.compare(node.slot, key) < 0) {
+            split(node.right, key, parts);
+            node.right = parts.left;
+            target.left = node.update();
+            target.right = parts.right;
+        } else {
+            split(node.left, key, parts);
+            node.left = parts.right;
+            target.left = parts.left;
+            target.right = node.update();
+        }
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private static final class Node {
+        private final BookingSlot slot;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private LocalDateTime maxEnd;
+
+        private Node(BookingSlot slot, int priority) {
+            this.slot = slot;
+            this.priority = priority;
+            this.maxEnd = slot == null ? null : slot.getEnd();
+        }
+
+        private Node update() {
+            maxEnd = slot.getEnd();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+            return this;
+        }
+    }
+}
@@ -1,67 +1,86 @@
 package ru.practicum.shareit.booking.dao;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.VersionStamp;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBookerAndItem;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findByItemUserIdAndStateIn(long ownerId, Set<BookingState> states, Pageable pageable);
+    List<Booking> findByItemIdAndStateNotAndEndAfter(long itemId, BookingState state, LocalDateTime moment);
 
-    List<Booking> findByBookerIdAndStateIn(long bookerId, Set<BookingState> states, Pageable pageable);
+    Optional<Booking> findFirstByItemIdAndStateNotAndStartBeforeOrderByStartDesc(long itemId, BookingState state,
+                                                                                 LocalDateTime moment);
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime now);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            long bookerId,
-            LocalDateTime now,
-            LocalDateTime nowRepeat
-    );
-
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime now);
-
-    List<Booking> findByItemUserIdAndEndBeforeOrderByStartDesc(long ownerId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findByItemUserIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            long ownerId,
-            LocalDateTime now,
-            LocalDateTime nowRepeat,
-            Pageable pageable);
-
-    List<Booking> findByItemUserIdAndStartAfterOrderByStartDesc(long ownerId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findByItemIdAndStateNotAndStartBefore(
-            long itemId,
-            BookingState state,
-            LocalDateTime now,
-            Pageable pageable
-    );
-
-    List<Booking> findByItemIdAndStateNotAndStartAfter(
-            long itemId,
-            BookingState state,
-            LocalDateTime now,
-            Pageable pageable
-    );
+    @Query("select count(b.id) as total, coalesce(max(b.id), 0) as lastId, coalesce(sum(b.version), 0) as versions " +
+            "from Booking as b " +
+            "where b.item.id = ?1")
+    VersionStamp findStampByItemId(long itemId);
+
+    @Query("select distinct b.item.id from Booking as b " +
+            "where b.item.id in ?1 and b.state = ru.practicum.shareit.booking.BookingState.APPROVED " +
+            "and b.start < ?3 and b.end > ?2")
+    Set<Long> findBusyItemIds(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    @Query("select b from Booking as b " +
+            "where b.item.id in ?1 and b.state = ru.practicum.shareit.booking.BookingState.APPROVED " +
+            "and b.start < ?3 and b.end > ?2")
+    List<Booking> findApprovedOverlapping(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    // JPQL rather than native SQL: Hibernate then knows only bookings change and keeps the item and user cache regions.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking as b set b.state = ru.practicum.shareit.booking.BookingState.APPROVED, " +
+            "b.version = b.version + 1 " +
+            "where b.id = ?1 and b.state = ru.practicum.shareit.booking.BookingState.WAITING " +
+            "and b.item.id in (select i.id from Item as i where i.user.id = ?2) " +
+            "and not exists (select o.id from Booking as o where o.item.id = b.item.id " +
+            "and o.state = ru.practicum.shareit.booking.BookingState.APPROVED " +
+            "and o.start < b.end and o.end > b.start)")
+    int approveIfWaiting(long bookingId, long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking as b set b.state = ru.practicum.shareit.booking.BookingState.REJECTED, " +
+            "b.version = b.version + 1 " +
+            "where b.id = ?1 and b.state = ru.practicum.shareit.booking.BookingState.WAITING " +
+            "and b.item.id in (select i.id from Item as i where i.user.id = ?2)")
+    int rejectIfWaiting(long bookingId, long ownerId);
+
+    @Query("select b from Booking as b " +
+            "join fetch b.item as i " +
+            "join fetch i.user " +
+            "join fetch b.booker " +
+            "where b.id = ?1")
+    Optional<Booking> findWithItemAndBookerById(long bookingId);
 
     List<Booking> findByBookerIdAndItemIdAndEndBefore(long authorId, long itemId, LocalDateTime now);
 
-    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoWithBookerAndItem(b.id, b.booker.id, b.item.id) " +
-            "from Booking as b " +
-            "where b.item.user.id = ?1 and b.state not like 'REJECTED' and b.start > ?2 " +
-            "order by b.start desc")
-    List<BookingDtoWithBookerAndItem> findNextBookingForItemsByUser(long userId, LocalDateTime now);
-
-    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoWithBookerAndItem(b.id, b.booker.id, b.item.id) " +
-            "from Booking as b " +
-            "where b.item.user.id = ?1 and b.state not like 'REJECTED' and b.end < ?2 " +
-            "order by b.start asc")
-    List<BookingDtoWithBookerAndItem> findLastBookingForItemsByUser(long userId, LocalDateTime now);
+    @Query(value = "select ranked.id as id, ranked.booker_id as bookerId, ranked.item_id as itemId " +
+            "from (select b.id, b.booker_id, b.item_id, " +
+            "row_number() over (partition by b.item_id order by b.start_date asc, b.id asc) as position " +
+            "from bookings as b " +
+            "where b.item_id in (:itemIds) and b.status <> 'REJECTED' and b.start_date > :now) as ranked " +
+            "where ranked.position = 1",
+            nativeQuery = true)
+    List<BookingDtoWithBookerAndItem> findNextBookingForItems(@Param("itemIds") Set<Long> itemIds,
+                                                              @Param("now") LocalDateTime now);
+
+    @Query(value = "select ranked.id as id, ranked.booker_id as bookerId, ranked.item_id as itemId " +
+            "from (select b.id, b.booker_id, b.item_id, " +
+            "row_number() over (partition by b.item_id order by b.start_date desc, b.id desc) as position " +
+            "from bookings as b " +
+            "where b.item_id in (:itemIds) and b.status <> 'REJECTED' and b.end_date < :now) as ranked " +
+            "where ranked.position = 1",
+            nativeQuery = true)
+    List<BookingDtoWithBookerAndItem> findLastBookingForItems(@Param("itemIds") Set<Long> itemIds,
+                                                              @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<Booking> findPage(Specification<Booking> specification, Pageable pageable);
+
+    long insertIfFree(Booking booking);
+}
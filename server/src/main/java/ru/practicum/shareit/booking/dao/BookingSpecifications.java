@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingSpecifications {
+
+    public static Specification<Booking> byBooker(long bookerId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> byOwner(long ownerId) {
+        return (root, query, builder) -> builder.equal(root.get("item").get("user").get("id"), ownerId);
+    }
+
+    public static Specification<Booking> after(BookingCursor cursor) {
+        return (root, query, builder) -> builder.or(
+                builder.lessThan(root.get("start"), cursor.getStart()),
+                builder.and(
+                        builder.equal(root.get("start"), cursor.getStart()),
+                        builder.lessThan(root.get("id"), cursor.getId())
+                )
+        );
+    }
+
+    public static Specification<Booking> byState(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case APPROVED:
+            case REJECTED:
+            case WAITING:
+                return (root, query, builder) -> builder.equal(root.get("state"), state);
+            case PAST:
+                return (root, query, builder) -> builder.lessThan(root.get("end"), now);
+            case CURRENT:
+                return (root, query, builder) -> builder.and(
+                        builder.lessThan(root.get("start"), now),
+                        builder.greaterThan(root.get("end"), now)
+                );
+            case FUTURE:
+                return (root, query, builder) -> builder.greaterThan(root.get("start"), now);
+            default:
+                return (root, query, builder) -> builder.conjunction();
+        }
+    }
+}
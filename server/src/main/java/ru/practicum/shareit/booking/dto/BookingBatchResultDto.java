@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingBatchResultDto {
+    private BookingDtoWithInfo booking;
+    private String error;
+
+    public static BookingBatchResultDto created(BookingDtoWithInfo booking) {
+        return new BookingBatchResultDto(booking, null);
+    }
+
+    public static BookingBatchResultDto failed(String error) {
+        return new BookingBatchResultDto(null, error);
+    }
+}
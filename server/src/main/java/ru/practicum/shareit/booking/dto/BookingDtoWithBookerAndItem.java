@@ -1,14 +1,10 @@
 package ru.practicum.shareit.booking.dto;
 
-import lombok.*;
-
-@EqualsAndHashCode(callSuper = true)
-@Data
-public class BookingDtoWithBookerAndItem extends BookingDtoWithBooker {
-    private long itemId;
-
-    public BookingDtoWithBookerAndItem(long bookingId, long bookerId, long itemId) {
-        super(bookingId, bookerId);
-        this.itemId = itemId;
-    }
-}
\ No newline at end of file
+public interface BookingDtoWithBookerAndItem {
+
+    Long getId();
+
+    Long getBookerId();
+
+    Long getItemId();
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private long id;
     @Column(name = "start_date")
     private LocalDateTime start;
@@ -34,4 +35,6 @@ public class Booking {
     @Column(name = "status")
     @Enumerated(EnumType.STRING)
     private BookingState state = BookingState.WAITING;
+    @Version
+    private long version;
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.comment.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.VersionStamp;
 import ru.practicum.shareit.comment.model.Comment;
 
 import java.util.List;
@@ -11,4 +13,9 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByItemId(long itemId);
 
     List<Comment> findByItemIdIn(Set<Long> itemIds);
+
+    @Query("select count(c.id) as total, coalesce(max(c.id), 0) as lastId, coalesce(sum(a.version), 0) as versions " +
+            "from Comment as c join c.author as a " +
+            "where c.item.id = ?1")
+    VersionStamp findStampByItemId(long itemId);
 }
\ No newline at end of file
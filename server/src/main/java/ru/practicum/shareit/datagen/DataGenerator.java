@@ -0,0 +1,220 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.messageManager.MessageHolder;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataGenerator {
+    private static final long CHUNK_ROWS = 100_000;
+    private static final int PAST_DAYS = 365;
+    private static final int FUTURE_DAYS = 90;
+    private static final int PEAK_DAY_OF_YEAR = 196;
+    private static final double SEASONAL_AMPLITUDE = 0.6;
+    private static final double WEEKEND_FACTOR = 1.5;
+    private static final int REQUESTED_ITEMS_PERCENT = 10;
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "ex_bookings_item_approved_period";
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final AvailabilityCalendar availabilityCalendar;
+
+    public boolean isEmpty() {
+        return !jdbcTemplate.queryForObject("select exists(select 1 from users)", Boolean.class);
+    }
+
+    public void generate(DataGeneratorProperties properties) {
+        Dataset dataset = new Dataset(properties);
+        long startedAt = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()));
+        try {
+            fill(executor, dataset, "users", "id, name, email", properties.getUsers(), dataset::writeUser);
+            fill(executor, dataset, "requests", "id, description, requestor_id, created",
+                    properties.getRequests(), dataset::writeRequest);
+            fill(executor, dataset, "items", "id, name, user_id, description, available, request_id",
+                    properties.getItems(), dataset::writeItem);
+            jdbcTemplate.execute("alter table bookings drop constraint if exists " + BOOKING_OVERLAP_CONSTRAINT);
+            fill(executor, dataset, "bookings", "id, start_date, end_date, item_id, booker_id, status",
+                    properties.getBookings(), dataset::writeBooking);
+            rejectOverlappingBookings();
+            fill(executor, dataset, "comments", "id, text, item_id, author_id, created",
+                    properties.getComments(), dataset::writeComment);
+        } finally {
+            executor.shutdownNow();
+        }
+        jdbcTemplate.execute("analyze");
+        // The rows were written over plain JDBC, which Hibernate's second-level cache never sees.
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        availabilityCalendar.clear();
+        log.info(MessageHolder.DATA_GENERATED, System.currentTimeMillis() - startedAt);
+    }
+
+    private void fill(ExecutorService executor, Dataset dataset, String table, String columns, long rows,
+                      RowGenerator generator) {
+        long startedAt = System.currentTimeMillis();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (long chunk = 0; chunk * CHUNK_ROWS < rows; chunk++) {
+            long firstId = chunk * CHUNK_ROWS + 1;
+            long lastId = Math.min(rows, firstId + CHUNK_ROWS - 1);
+            SplittableRandom random = new SplittableRandom(Objects.hash(dataset.seed, table, chunk));
+            chunks.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection();
+                     RowWriter writer = RowWriter.open(connection, table, columns, dataset.batchSize)) {
+                    for (long id = firstId; id <= lastId; id++) {
+                        generator.write(writer, random, id);
+                    }
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        jdbcTemplate.execute("alter table " + table + " alter column id restart with " + (rows + 1));
+        jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + (rows + 1));
+        log.info(MessageHolder.TABLE_GENERATED, table, rows, System.currentTimeMillis() - startedAt);
+    }
+
+    // Random periods of popular items overlap, so the later of two approved bookings is rejected as the service would.
+    // Only for generated data: the V4 migration refuses to touch overlapping bookings of a real database.
+    private void rejectOverlappingBookings() {
+        jdbcTemplate.update("update bookings as b set status = 'REJECTED' where b.status = 'APPROVED' " +
+                "and exists (select 1 from bookings as o where o.item_id = b.item_id and o.status = 'APPROVED' " +
+                "and o.id < b.id and o.start_date < b.end_date and o.end_date > b.start_date)");
+        if (isPostgres()) {
+            jdbcTemplate.execute("alter table bookings add constraint " + BOOKING_OVERLAP_CONSTRAINT + " " +
+                    "exclude using gist (item_id with =, tsrange(start_date, end_date, '[)') with &&) " +
+                    "where (status = 'APPROVED')");
+        }
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isWrapperFor(PGConnection.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowGenerator {
+        void write(RowWriter writer, SplittableRandom random, long id) throws SQLException;
+    }
+
+    private static class Dataset {
+        private final long seed;
+        private final int batchSize;
+        private final long users;
+        private final long items;
+        private final long requests;
+        private final LocalDateTime anchor;
+        private final ZipfSampler owners;
+        private final ZipfSampler popularItems;
+
+        private Dataset(DataGeneratorProperties properties) {
+            this.seed = properties.getSeed();
+            this.batchSize = properties.getBatchSize();
+            this.users = properties.getUsers();
+            this.items = properties.getItems();
+            this.requests = properties.getRequests();
+            this.anchor = Objects.requireNonNullElseGet(properties.getAnchor(), LocalDate::now).atStartOfDay();
+            this.owners = new ZipfSampler(users, properties.getOwnerSkew());
+            this.popularItems = new ZipfSampler(Math.max(1, items), properties.getItemPopularitySkew());
+        }
+
+        private void writeUser(RowWriter writer, SplittableRandom random, long id) throws SQLException {
+            writer.write(id, "user" + id, "user" + id + "@shareit.ru");
+        }
+
+        private void writeRequest(RowWriter writer, SplittableRandom random, long id) throws SQLException {
+            writer.write(id, "Нужна вещь " + id, 1 + random.nextLong(users),
+                    anchor.minusMinutes(random.nextLong(PAST_DAYS * 24L * 60)));
+        }
+
+        private void writeItem(RowWriter writer, SplittableRandom random, long id) throws SQLException {
+            Long requestId = requests > 0 && random.nextInt(100) < REQUESTED_ITEMS_PERCENT
+                    ? 1 + random.nextLong(requests)
+                    : null;
+            writer.write(id, "Вещь " + id, ownerOf(id), "Описание вещи " + id, random.nextInt(10) != 0, requestId);
+        }
+
+        private void writeBooking(RowWriter writer, SplittableRandom random, long id) throws SQLException {
+            long itemId = popularItems.sample(random);
+            LocalDateTime start = seasonalStart(random);
+            LocalDateTime end = start.plusHours(1 + random.nextInt(24)).plusDays(random.nextInt(14));
+            BookingState state;
+            if (start.isAfter(anchor)) {
+                state = random.nextInt(3) == 0 ? BookingState.WAITING : BookingState.APPROVED;
+            } else {
+                state = BookingState.APPROVED;
+            }
+            if (random.nextInt(10) == 0) {
+                state = BookingState.REJECTED;
+            }
+            writer.write(id, start, end, itemId, otherUser(random, ownerOf(itemId)), state.name());
+        }
+
+        private void writeComment(RowWriter writer, SplittableRandom random, long id) throws SQLException {
+            long itemId = popularItems.sample(random);
+            writer.write(id, "Отзыв " + id, itemId, otherUser(random, ownerOf(itemId)),
+                    anchor.minusMinutes(random.nextLong(PAST_DAYS * 24L * 60)));
+        }
+
+        // Owners are derived from the item id, so bookings and comments can avoid them without keeping every item in memory.
+        private long ownerOf(long itemId) {
+            return owners.sample(new SplittableRandom(seed ^ (itemId * 0x9E3779B97F4A7C15L)));
+        }
+
+        private long otherUser(SplittableRandom random, long ownerId) {
+            long userId = 1 + random.nextLong(users);
+            return userId != ownerId ? userId : userId % users + 1;
+        }
+
+        private LocalDateTime seasonalStart(SplittableRandom random) {
+            double maxWeight = (1 + SEASONAL_AMPLITUDE) * WEEKEND_FACTOR;
+            while (true) {
+                LocalDateTime start = anchor.plusMinutes(random.nextLong(-PAST_DAYS * 24L * 60, FUTURE_DAYS * 24L * 60));
+                double weight = 1 + SEASONAL_AMPLITUDE
+                        * Math.cos(2 * Math.PI * (start.getDayOfYear() - PEAK_DAY_OF_YEAR) / 365.0);
+                if (start.getDayOfWeek().getValue() >= 6) {
+                    weight *= WEEKEND_FACTOR;
+                }
+                if (random.nextDouble() * maxWeight < weight) {
+                    return start;
+                }
+            }
+        }
+    }
+}
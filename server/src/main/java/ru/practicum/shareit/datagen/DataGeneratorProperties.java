@@ -0,0 +1,24 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+@ConfigurationProperties(prefix = "shareit.datagen")
+@Getter
+@Setter
+public class DataGeneratorProperties {
+    private long users = 1_000;
+    private long items = 10_000;
+    private long requests = 1_000;
+    private long bookings = 100_000;
+    private long comments = 20_000;
+    private long seed = 42;
+    private double ownerSkew = 1.1;
+    private double itemPopularitySkew = 0.8;
+    private int batchSize = 1_000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private LocalDate anchor;
+}
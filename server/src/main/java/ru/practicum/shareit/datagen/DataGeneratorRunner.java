@@ -0,0 +1,29 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.messageManager.MessageHolder;
+
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class DataGeneratorRunner implements ApplicationRunner {
+    private final DataGenerator dataGenerator;
+    private final DataGeneratorProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!dataGenerator.isEmpty()) {
+            log.info(MessageHolder.DATA_GENERATION_SKIPPED);
+            return;
+        }
+        dataGenerator.generate(properties);
+    }
+}
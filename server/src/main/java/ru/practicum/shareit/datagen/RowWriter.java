@@ -0,0 +1,107 @@
+package ru.practicum.shareit.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+interface RowWriter extends AutoCloseable {
+
+    void write(Object... values) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+
+    static RowWriter open(Connection connection, String table, String columns, int batchSize) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new CopyRowWriter(connection.unwrap(PGConnection.class), table, columns);
+        }
+        return new BatchRowWriter(connection, table, columns, batchSize);
+    }
+
+    class CopyRowWriter implements RowWriter {
+        private final Writer out;
+
+        private CopyRowWriter(PGConnection connection, String table, String columns) throws SQLException {
+            this.out = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(connection, "copy " + table + " (" + columns + ") from stdin"),
+                    StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void write(Object... values) throws SQLException {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        out.write('\t');
+                    }
+                    out.write(values[i] == null ? "\\N" : values[i].toString());
+                }
+                out.write('\n');
+            } catch (IOException e) {
+                throw new SQLException(e);
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new SQLException(e);
+            }
+        }
+    }
+
+    class BatchRowWriter implements RowWriter {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+
+        private BatchRowWriter(Connection connection, String table, String columns, int batchSize) throws SQLException {
+            this.connection = connection;
+            this.batchSize = batchSize;
+            String placeholders = String.join(", ", Collections.nCopies(columns.split(",").length, "?"));
+            connection.setAutoCommit(false);
+            this.statement = connection.prepareStatement(
+                    "insert into " + table + " (" + columns + ") values (" + placeholders + ")");
+        }
+
+        @Override
+        public void write(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++pending == batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (statement) {
+                flush();
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class NotValidCursorException extends RuntimeException {
+    public NotValidCursorException(String message) {
+        super(message);
+    }
+}
@@ -2,12 +2,21 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.PageRequestCustom;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+import ru.practicum.shareit.item.search.ItemSearchPage;
 import ru.practicum.shareit.messageManager.MessageHolder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,6 +24,8 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class ItemController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String DEFAULT_SIZE_OF_PAGE = "10";
     private final ItemService service;
 
     @PostMapping
@@ -25,15 +36,27 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDtoWithBooking get(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long itemId) {
+    public ItemDtoWithBooking get(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long itemId,
+                                  WebRequest request) {
         log.info(MessageHolder.GET_REQUEST, itemId);
+        if (request.checkNotModified(service.getETag(userId, itemId))) {
+            return null;
+        }
         return service.get(userId, itemId);
     }
 
     @GetMapping
-    public List<ItemDtoWithBooking> getAllByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public List<ItemDtoWithBooking> getAllByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer from,
+                                                 @RequestParam(required = false) Integer size) {
         log.info(MessageHolder.GET_ALL_BY_USER_REQUEST, userId);
-        return service.getAllByUser(userId);
+        // Without any paging parameter all items of the owner are returned, as before paging was added.
+        Pageable pageable = after == null && from == null && size == null
+                ? Pageable.unpaged()
+                : new PageRequestCustom(from != null ? from : 0,
+                size != null ? size : Integer.parseInt(DEFAULT_SIZE_OF_PAGE), Sort.unsorted());
+        return service.getAllByUser(userId, after, pageable);
     }
 
     @PatchMapping("/{itemId}")
@@ -51,9 +74,25 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDtoWithBooking> search(@RequestParam String text) {
+    public ResponseEntity<List<ItemDtoWithBooking>> search(@RequestParam String text,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "0") Integer from,
+                                                           @RequestParam(defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size) {
         log.info(MessageHolder.SEARCH_ITEMS_REQUEST, text);
-        return service.search(text);
+        return withNextCursor(service.search(text, decode(cursor), new PageRequestCustom(from, size, Sort.unsorted())));
+    }
+
+    @GetMapping("/search/available")
+    public ResponseEntity<List<ItemDtoWithBooking>> searchFree(
+            @RequestParam String text,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = DEFAULT_SIZE_OF_PAGE) Integer size) {
+        log.info(MessageHolder.SEARCH_ITEMS_REQUEST, text);
+        return withNextCursor(service.searchFree(text, start, end, decode(cursor),
+                new PageRequestCustom(from, size, Sort.unsorted())));
     }
 
     @PostMapping("/{itemId}/comment")
@@ -63,4 +102,16 @@ public class ItemController {
         log.info(MessageHolder.GET_UPDATE_REQUEST, itemId);
         return service.createComment(userId, itemId, commentDto);
     }
-}
\ No newline at end of file
+
+    private static ItemSearchHit decode(String cursor) {
+        return cursor != null ? ItemSearchHit.decode(cursor) : null;
+    }
+
+    private ResponseEntity<List<ItemDtoWithBooking>> withNextCursor(ItemSearchPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNext() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNext().encode());
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.PageRequestCustom;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+import ru.practicum.shareit.item.search.ItemSearchPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,17 +18,20 @@ public interface ItemService {
 
     ItemDtoWithBooking get(long userId, long itemId);
 
-    List<ItemDtoWithBooking> getAllByUser(long userId);
+    String getETag(long userId, long itemId);
+
+    List<ItemDtoWithBooking> getAllByUser(long userId, Long afterId, Pageable pageable);
 
     ItemDtoWithBooking update(long userId, long itemId, ItemDtoWithOutBooking itemDtoPatch);
 
     void delete(long userId, long itemId);
 
-    List<ItemDtoWithBooking> search(String text);
+    ItemSearchPage search(String text, ItemSearchHit after, PageRequestCustom pageRequest);
+
+    ItemSearchPage searchFree(String text, LocalDateTime start, LocalDateTime end, ItemSearchHit after,
+                              PageRequestCustom pageRequest);
 
     Item getUpdatedItem(Item item, Item itemPatch);
 
     CommentDto createComment(long authorId, long itemId, CommentDto commentDto);
-
-    User getUser(long userId);
 }
\ No newline at end of file
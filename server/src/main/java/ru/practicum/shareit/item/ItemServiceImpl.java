@@ -2,12 +2,14 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.ETags;
+import ru.practicum.shareit.PageRequestCustom;
+import ru.practicum.shareit.VersionStamp;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.booking.calendar.BookingSlot;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBooker;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBookerAndItem;
@@ -16,39 +18,46 @@ import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.comment.dao.CommentRepository;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.exception.NotValidDateException;
 import ru.practicum.shareit.exception.NotValidOwnerForUpdateException;
 import ru.practicum.shareit.exception.UnBookingCommentException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+import ru.practicum.shareit.item.search.ItemSearchPage;
 import ru.practicum.shareit.messageManager.MessageHolder;
 import ru.practicum.shareit.request.dao.RequestRepository;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ItemServiceImpl implements ItemService {
-    public static final Sort SORT_BY_START_DESC = Sort.by("start").descending();
-    public static final Sort SORT_BY_START_ASC = Sort.by("start").ascending();
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final RequestRepository requestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final AvailabilityCalendar availabilityCalendar;
 
     @Override
     public ItemDtoWithBooking create(long userId, ItemDtoWithOutBooking itemDto) {
         Item item = ItemMapper.mapToItemEntity(itemDto);
-        User user = getUser(userId);
+        User user = userLookup.get(userId);
         item.setUser(user);
         Long requestId = itemDto.getRequestId();
         if (requestId != null) {
@@ -61,35 +70,16 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDtoWithBooking get(long userId, long itemId) {
-        User user = getUser(userId);
+        User user = userLookup.get(userId);
         Item item = itemRepository.getReferenceById(itemId);
         ItemDtoWithBooking itemDto;
         BookingDtoWithBooker lastBooking = null;
         BookingDtoWithBooker nextBooking = null;
         List<CommentDto> comments;
         if (item.getUser().getId() == user.getId()) {
-            List<BookingDtoWithBooker> lastBookings = BookingMapper.mapBooksToBookingsDtoWithBooker(
-                    bookingRepository.findByItemIdAndStateNotAndStartBefore(
-                            itemId,
-                            BookingState.REJECTED,
-                            LocalDateTime.now(),
-                            PageRequest.of(0, 1, SORT_BY_START_DESC)
-                    )
-            );
-            List<BookingDtoWithBooker> nextBookings = BookingMapper.mapBooksToBookingsDtoWithBooker(
-                    bookingRepository.findByItemIdAndStateNotAndStartAfter(
-                            itemId,
-                            BookingState.REJECTED,
-                            LocalDateTime.now(),
-                            PageRequest.of(0, 1, SORT_BY_START_ASC)
-                    )
-            );
-            if (!lastBookings.isEmpty()) {
-                lastBooking = lastBookings.get(0);
-            }
-            if (!nextBookings.isEmpty()) {
-                nextBooking = nextBookings.get(0);
-            }
+            LocalDateTime now = LocalDateTime.now();
+            lastBooking = availabilityCalendar.findLast(itemId, now).map(ItemServiceImpl::toBookingDto).orElse(null);
+            nextBooking = availabilityCalendar.findNext(itemId, now).map(ItemServiceImpl::toBookingDto).orElse(null);
         }
         comments = commentRepository.findByItemId(itemId).stream()
                 .map(CommentMapper::mapToCommentDto)
@@ -100,31 +90,45 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDtoWithBooking> getAllByUser(long userId) {
-        User user = getUser(userId);
-        List<ItemDtoWithBooking> itemsByUser = itemRepository.findAllByUserOrderById(user).stream()
+    public String getETag(long userId, long itemId) {
+        User user = userLookup.get(userId);
+        Item item = itemRepository.getReferenceById(itemId);
+        VersionStamp comments = commentRepository.findStampByItemId(itemId);
+        if (item.getUser().getId() != user.getId()) {
+            return ETags.of("item", itemId, item.getVersion(), comments);
+        }
+        // Only the owner sees the last and next bookings. The database stamp catches bookings written through other
+        // instances, the calendar ones change with time and with what this instance shows.
+        LocalDateTime now = LocalDateTime.now();
+        return ETags.of("item", itemId, item.getVersion(), comments, bookingRepository.findStampByItemId(itemId),
+                availabilityCalendar.findLast(itemId, now).map(BookingSlot::getId).orElse(0L),
+                availabilityCalendar.findNext(itemId, now).map(BookingSlot::getId).orElse(0L));
+    }
+
+    @Override
+    public List<ItemDtoWithBooking> getAllByUser(long userId, Long afterId, Pageable pageable) {
+        User user = userLookup.get(userId);
+        List<ItemDtoWithBooking> itemsByUser = itemRepository.findByUserIdAndIdGreaterThanOrderById(
+                        user.getId(),
+                        afterId != null ? afterId : 0,
+                        pageable
+                ).stream()
                 .map(ItemMapper::mapToItemDto)
                 .collect(Collectors.toList());
-        List<Comment> allComments = commentRepository.findByItemIdIn(
-                itemsByUser.stream()
-                        .map(ItemDtoWithBooking::getId)
-                        .collect(Collectors.toSet()));
-        Map<Long, List<Comment>> commentsByItem = allComments.stream()
+        if (itemsByUser.isEmpty()) {
+            return itemsByUser;
+        }
+        Set<Long> itemIds = itemsByUser.stream()
+                .map(ItemDtoWithBooking::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<Comment>> commentsByItem = commentRepository.findByItemIdIn(itemIds).stream()
                 .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
-        List<BookingDtoWithBookerAndItem> nextBookingDtoWithBookers =
-                bookingRepository.findNextBookingForItemsByUser(userId, LocalDateTime.now());
-        log.info(MessageHolder.SUCCESS_GET_ALL_ITEMS_BY_USER, userId);
-        Map<Long, BookingDtoWithBooker> nextBookingByItem = nextBookingDtoWithBookers.stream()
-                .collect(Collectors.toMap(
-                        BookingDtoWithBookerAndItem::getItemId,
-                        dto -> new BookingDtoWithBooker(dto.getId(), dto.getBookerId()), (first, second) -> second));
-        List<BookingDtoWithBookerAndItem> lastBookingDtoWithBookers =
-                bookingRepository.findLastBookingForItemsByUser(userId, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDtoWithBooker> nextBookingByItem =
+                mapBookingsByItem(bookingRepository.findNextBookingForItems(itemIds, now));
+        Map<Long, BookingDtoWithBooker> lastBookingByItem =
+                mapBookingsByItem(bookingRepository.findLastBookingForItems(itemIds, now));
         log.info(MessageHolder.SUCCESS_GET_ALL_ITEMS_BY_USER, userId);
-        Map<Long, BookingDtoWithBooker> lastBookingByItem = lastBookingDtoWithBookers.stream()
-                .collect(Collectors.toMap(
-                        BookingDtoWithBookerAndItem::getItemId,
-                        dto -> new BookingDtoWithBooker(dto.getId(), dto.getBookerId()), (first, second) -> second));
         return itemsByUser.stream()
                 .map(itemDto -> ItemMapper.mapToItemDtoWithBookingsAndComments(
                         itemDto,
@@ -140,7 +144,7 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @Override
     public ItemDtoWithBooking update(long userId, long itemId, ItemDtoWithOutBooking itemDtoPatch) {
-        User user = getUser(userId);
+        User user = userLookup.get(userId);
         Item oldItem = itemRepository.getReferenceById(itemId);
         if (oldItem.getUser().getId() == user.getId()) {
             Item result = itemRepository.save(getUpdatedItem(oldItem, ItemMapper.mapToItemEntity(itemDtoPatch)));
@@ -155,25 +159,38 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @Override
     public void delete(long userId, long itemId) {
-        User user = getUser(userId);
+        User user = userLookup.get(userId);
         if (itemRepository.getReferenceById(itemId).getUser().getId() == user.getId()) {
             itemRepository.delete(itemRepository.getReferenceById(itemId));
+            availabilityCalendar.evict(itemId);
             log.info(MessageHolder.SUCCESS_DELETE, itemId);
         }
     }
 
     @Override
-    public List<ItemDtoWithBooking> search(String text) {
-        List<ItemDtoWithBooking> items = new ArrayList<>();
+    public ItemSearchPage search(String text, ItemSearchHit after, PageRequestCustom pageRequest) {
+        List<ItemSearchHit> hits = new ArrayList<>();
         if (!text.isBlank()) {
-            items = itemRepository
-                    .findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue(text, text)
-                    .stream()
-                    .map(ItemMapper::mapToItemDto)
-                    .collect(Collectors.toList());
+            hits = searchEngine.search(text, after, pageRequest);
         }
         log.info(MessageHolder.SUCCESS_SEARCH_ITEMS, text);
-        return items;
+        return toPage(hits, pageRequest);
+    }
+
+    @Override
+    public ItemSearchPage searchFree(String text, LocalDateTime start, LocalDateTime end, ItemSearchHit after,
+                                     PageRequestCustom pageRequest) {
+        if (!start.isBefore(end)) {
+            throw new NotValidDateException(
+                    end.isBefore(start) ? MessageHolder.END_BEFORE_START : MessageHolder.START_EQUAL_END
+            );
+        }
+        List<ItemSearchHit> hits = new ArrayList<>();
+        if (!text.isBlank()) {
+            hits = searchEngine.searchFree(text, start, end, after, pageRequest);
+        }
+        log.info(MessageHolder.SUCCESS_SEARCH_ITEMS, text);
+        return toPage(hits, pageRequest);
     }
 
     @Override
@@ -194,7 +211,7 @@ public class ItemServiceImpl implements ItemService {
     public CommentDto createComment(long authorId, long itemId, CommentDto commentDto) {
         List<Booking> booking = bookingRepository.findByBookerIdAndItemIdAndEndBefore(authorId, itemId, LocalDateTime.now());
         if (!booking.isEmpty()) {
-            User user = getUser(authorId);
+            User user = userLookup.get(authorId);
             Item item = itemRepository.getReferenceById(itemId);
             Comment comment = CommentMapper.mapToCommentEntity(commentDto, user, item);
             CommentDto result = CommentMapper.mapToCommentDto(commentRepository.save(comment));
@@ -205,13 +222,33 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    @Override
-    public User getUser(long userId) {
-        User result = new User();
-        User user = userRepository.getReferenceById(userId);
-        if (user.getName() != null) {
-            result = user;
-        }
-        return result;
+    private Map<Long, BookingDtoWithBooker> mapBookingsByItem(List<BookingDtoWithBookerAndItem> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(
+                        BookingDtoWithBookerAndItem::getItemId,
+                        dto -> new BookingDtoWithBooker(dto.getId(), dto.getBookerId())));
+    }
+
+    // The next cursor is the last hit, not the last item, so an item deleted meanwhile does not end the paging.
+    private ItemSearchPage toPage(List<ItemSearchHit> hits, PageRequestCustom pageRequest) {
+        List<Long> ids = hits.stream()
+                .map(ItemSearchHit::getId)
+                .collect(Collectors.toList());
+        boolean full = !hits.isEmpty() && hits.size() == pageRequest.getPageSize();
+        return new ItemSearchPage(findAllInOrder(ids), full ? hits.get(hits.size() - 1) : null);
+    }
+
+    private List<ItemDtoWithBooking> findAllInOrder(List<Long> ids) {
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .map(ItemMapper::mapToItemDto)
+                .collect(Collectors.toList());
+    }
+
+    private static BookingDtoWithBooker toBookingDto(BookingSlot slot) {
+        return new BookingDtoWithBooker(slot.getId(), slot.getBookerId());
     }
-}
\ No newline at end of file
+}
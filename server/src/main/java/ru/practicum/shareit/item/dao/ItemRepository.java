@@ -1,21 +1,54 @@
 package ru.practicum.shareit.item.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.VersionStamp;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findAllByUserOrderById(User user);
+    List<Item> findByUserIdAndIdGreaterThanOrderById(long userId, long afterId, Pageable pageable);
 
-    List<Item> findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue(
-            String text, String text1
-    );
+    @Query("select i.id from Item as i " +
+            "where i.available = true and i.id > ?2 " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) escape '\\' " +
+            "or upper(i.description) like upper(concat('%', ?1, '%')) escape '\\') " +
+            "order by i.id")
+    List<Long> searchAvailableIds(String text, long afterId, Pageable pageable);
 
+    @Query("select i.id from Item as i " +
+            "where i.available = true and i.id > ?4 " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) escape '\\' " +
+            "or upper(i.description) like upper(concat('%', ?1, '%')) escape '\\') " +
+            "and not exists (select b.id from Booking as b where b.item = i " +
+            "and b.state = ru.practicum.shareit.booking.BookingState.APPROVED and b.start < ?3 and b.end > ?2) " +
+            "order by i.id")
+    List<Long> searchFreeIds(String text, LocalDateTime start, LocalDateTime end, long afterId, Pageable pageable);
+
+    @Query(value = "select i.id from items as i " +
+            "where i.id = (select b.item_id from bookings as b where b.id = :bookingId) " +
+            "for update",
+            nativeQuery = true)
+    Optional<Long> lockByBookingId(@Param("bookingId") long bookingId);
+
+    List<Item> findByIdGreaterThanOrderById(long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Item> findByRequestIdIn(Set<Long> collect);
 
     List<Item> findByRequestId(long id);
+
+    @Query("select count(i.id) as total, coalesce(max(i.id), 0) as lastId, coalesce(sum(i.version), 0) as versions " +
+            "from Item as i " +
+            "where i.request.id = ?1")
+    VersionStamp findStampByRequestId(long requestId);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemSearchHit> search(String text, ItemSearchHit after, Pageable pageable) {
+        return toHits(itemRepository.searchAvailableIds(escapeLike(text), afterId(after), pageable));
+    }
+
+    @Override
+    public List<ItemSearchHit> searchFree(String text, LocalDateTime start, LocalDateTime end, ItemSearchHit after,
+                                          Pageable pageable) {
+        return toHits(itemRepository.searchFreeIds(escapeLike(text), start, end, afterId(after), pageable));
+    }
+
+    // The text is matched as a plain substring, so LIKE wildcards in it are escaped with the '\' escape character.
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    // Every hit scores 0 here, so a cursor with a higher score is before all of them and only the id is sought.
+    private static long afterId(ItemSearchHit after) {
+        return after == null || after.getScore() > 0 ? 0 : after.getId();
+    }
+
+    private static List<ItemSearchHit> toHits(List<Long> ids) {
+        return ids.stream()
+                .map(id -> new ItemSearchHit(0, id))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(long itemId) {
+    }
+}
@@ -0,0 +1,273 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.messageManager.MessageHolder;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in engine ({@code shareit.search.engine=index}): query words match the beginnings of words in the name or
+ * description and results are ranked by relevance, so "рель" no longer finds "Дрель" as the database engine does.
+ * The index lives in this instance's heap: it is built from the database at startup and then follows only the item
+ * writes made through this instance, so it fits a single server that is not loaded by the data generator.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+@RequiredArgsConstructor
+@Slf4j
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_TERM_FACTOR = 2;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int FREE_CHECK_BATCH_SIZE = 200;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final NavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            batch.forEach(item -> put(toDocument(item)));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info(MessageHolder.SEARCH_INDEX_REBUILT, documents.size());
+    }
+
+    @Override
+    public List<ItemSearchHit> search(String text, ItemSearchHit after, Pageable pageable) {
+        List<ItemSearchHit> top = top(score(text), after, (int) (pageable.getOffset() + pageable.getPageSize()));
+        return new ArrayList<>(top.subList((int) Math.min(top.size(), pageable.getOffset()), top.size()));
+    }
+
+    // Matches are checked against bookings in batches, each batch is the next top-k past the last checked hit.
+    @Override
+    public List<ItemSearchHit> searchFree(String text, LocalDateTime start, LocalDateTime end, ItemSearchHit after,
+                                          Pageable pageable) {
+        Map<Long, Integer> scores = score(text);
+        List<ItemSearchHit> result = new ArrayList<>();
+        ItemSearchHit position = after;
+        long skipped = 0;
+        while (result.size() < pageable.getPageSize()) {
+            int batchSize = (int) Math.max(FREE_CHECK_BATCH_SIZE, pageable.getOffset() - skipped + pageable.getPageSize());
+            List<ItemSearchHit> candidates = top(scores, position, batchSize);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            Set<Long> busy = bookingRepository.findBusyItemIds(candidates.stream()
+                    .map(ItemSearchHit::getId)
+                    .collect(Collectors.toList()), start, end);
+            for (ItemSearchHit hit : candidates) {
+                if (busy.contains(hit.getId())) {
+                    continue;
+                }
+                if (skipped < pageable.getOffset()) {
+                    skipped++;
+                } else if (result.size() < pageable.getPageSize()) {
+                    result.add(hit);
+                }
+            }
+            if (candidates.size() < batchSize) {
+                break;
+            }
+            position = candidates.get(candidates.size() - 1);
+        }
+        return result;
+    }
+
+    @Override
+    public void index(Item item) {
+        IndexedItem previous = put(toDocument(item));
+        rememberForRollback(item.getId(), previous);
+    }
+
+    @Override
+    public void remove(long itemId) {
+        IndexedItem previous = delete(itemId);
+        rememberForRollback(itemId, previous);
+    }
+
+    private Map<Long, Integer> score(String text) {
+        Set<String> queryTerms = tokenize(text).keySet();
+        Map<Long, Integer> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            boolean first = true;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Integer> termScores = scoreTerm(queryTerm);
+                if (first) {
+                    scores = termScores;
+                    first = false;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores;
+    }
+
+    // The cursor is a (score, id) position rather than an item, so a page goes on even if that item is gone or has
+    // been re-scored since. A heap of the best k keeps the selection at O(n log k) instead of sorting every match.
+    private static List<ItemSearchHit> top(Map<Long, Integer> scores, ItemSearchHit after, int limit) {
+        PriorityQueue<ItemSearchHit> heap = new PriorityQueue<>(limit + 1, ItemSearchHit.ORDER.reversed());
+        scores.forEach((id, score) -> {
+            ItemSearchHit hit = new ItemSearchHit(score, id);
+            if (!hit.isAfter(after) || heap.size() == limit && ItemSearchHit.ORDER.compare(hit, heap.peek()) > 0) {
+                return;
+            }
+            heap.add(hit);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        });
+        List<ItemSearchHit> result = new ArrayList<>(heap);
+        result.sort(ItemSearchHit.ORDER);
+        return result;
+    }
+
+    private Map<Long, Integer> scoreTerm(String queryTerm) {
+        Map<Long, Integer> result = new HashMap<>();
+        postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true).forEach((term, weights) -> {
+            int factor = term.equals(queryTerm) ? EXACT_TERM_FACTOR : 1;
+            weights.forEach((id, weight) -> {
+                IndexedItem document = documents.get(id);
+                if (document != null && document.available) {
+                    result.merge(id, weight * factor, Integer::sum);
+                }
+            });
+        });
+        return result;
+    }
+
+    private IndexedItem put(IndexedItem document) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = documents.put(document.id, document);
+            if (previous != null) {
+                unlinkTerms(previous);
+            }
+            document.termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(document.id, weight));
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private IndexedItem delete(long itemId) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = documents.remove(itemId);
+            if (previous != null) {
+                unlinkTerms(previous);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlinkTerms(IndexedItem document) {
+        document.termWeights.keySet().forEach(term -> postings.computeIfPresent(term, (key, ids) -> {
+            ids.remove(document.id);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    // Index changes are visible immediately, so a rolled back transaction has to put back what it replaced.
+    private void rememberForRollback(long itemId, IndexedItem previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, Optional<IndexedItem>> originals =
+                (Map<Long, Optional<IndexedItem>>) TransactionSynchronizationManager.getResource(this);
+        if (originals == null) {
+            Map<Long, Optional<IndexedItem>> registered = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, registered);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InvertedIndexItemSearchEngine.this);
+                    if (status != STATUS_COMMITTED) {
+                        registered.forEach((id, original) -> {
+                            if (original.isPresent()) {
+                                put(original.get());
+                            } else {
+                                delete(id);
+                            }
+                        });
+                    }
+                }
+            });
+            originals = registered;
+        }
+        originals.putIfAbsent(itemId, Optional.ofNullable(previous));
+    }
+
+    private IndexedItem toDocument(Item item) {
+        Map<String, Integer> termWeights = new HashMap<>();
+        tokenize(item.getName()).forEach((term, count) -> termWeights.merge(term, count * NAME_WEIGHT, Integer::sum));
+        tokenize(item.getDescription())
+                .forEach((term, count) -> termWeights.merge(term, count * DESCRIPTION_WEIGHT, Integer::sum));
+        return new IndexedItem(item.getId(), Boolean.TRUE.equals(item.getAvailable()), termWeights);
+    }
+
+    private static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.merge(token, 1, Integer::sum);
+            }
+        }
+        return terms;
+    }
+
+    private static final class IndexedItem {
+        private final long id;
+        private final boolean available;
+        private final Map<String, Integer> termWeights;
+
+        private IndexedItem(long id, boolean available, Map<String, Integer> termWeights) {
+            this.id = id;
+            this.available = available;
+            this.termWeights = termWeights;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<ItemSearchHit> search(String text, ItemSearchHit after, Pageable pageable);
+
+    List<ItemSearchHit> searchFree(String text, LocalDateTime start, LocalDateTime end, ItemSearchHit after,
+                                   Pageable pageable);
+
+    void index(Item item);
+
+    void remove(long itemId);
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.exception.NotValidCursorException;
+import ru.practicum.shareit.messageManager.MessageHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * A found item with its relevance. Results go by score descending, then id ascending, and the last hit of a page
+ * is the cursor for the next one. The database engine does not rank, every hit scores 0 there.
+ */
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ItemSearchHit {
+    public static final Comparator<ItemSearchHit> ORDER = Comparator.comparingInt(ItemSearchHit::getScore).reversed()
+            .thenComparingLong(ItemSearchHit::getId);
+    private static final String SEPARATOR = "_";
+    private final int score;
+    private final long id;
+
+    public boolean isAfter(ItemSearchHit cursor) {
+        return cursor == null || ORDER.compare(this, cursor) > 0;
+    }
+
+    public static ItemSearchHit decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new NotValidCursorException(String.format(MessageHolder.CURSOR_NOT_VALID, token));
+            }
+            return new ItemSearchHit(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new NotValidCursorException(String.format(MessageHolder.CURSOR_NOT_VALID, token));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((score + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
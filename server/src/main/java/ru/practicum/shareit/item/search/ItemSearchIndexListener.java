@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.ObjectProvider;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+public class ItemSearchIndexListener {
+    private final ObjectProvider<ItemSearchEngine> searchEngine;
+
+    public ItemSearchIndexListener(ObjectProvider<ItemSearchEngine> searchEngine) {
+        this.searchEngine = searchEngine;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Item item) {
+        searchEngine.ifAvailable(engine -> engine.index(item));
+    }
+
+    @PostRemove
+    public void onRemove(Item item) {
+        searchEngine.ifAvailable(engine -> engine.remove(item.getId()));
+    }
+}
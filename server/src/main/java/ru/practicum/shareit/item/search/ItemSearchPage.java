@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class ItemSearchPage {
+    private final List<ItemDtoWithBooking> items;
+    private final ItemSearchHit next;
+}
@@ -11,10 +11,18 @@ public class MessageHolder {
     public static final String START_IS_NUll = "Дата начала бронирования не указана.";
     public static final String END_IS_NUll = "Дата окончания бронирования не указана.";
     public static final String BOOKER_OR_OWNER_ID_NOT_VALID = "Пользователь %s не является владельцем или арендатором для вещи с ID = %s.";
+    public static final String CURSOR_NOT_VALID = "Некорректный курсор постраничной выдачи: %s.";
     public static final String BOOKING_ALREADY_APPROVED = "Бронирование с ID = %s уже одобрено.";
+    public static final String BOOKING_OVERLAP = "Вещь с ID = %s уже забронирована на пересекающийся период.";
+    public static final String BOOKING_IS_NULL = "Бронирование в пакете не указано.";
+    public static final String BOOKING_NOT_FOUND = "Бронирование с ID = %s не найдено.";
+    public static final String ITEM_NOT_FOUND = "Вещь с ID = %s не найдена.";
+    public static final String APPROVED_BOOKING_OVERLAP = "Бронирование с ID = %s пересекается с уже одобренным бронированием.";
+    public static final String CONCURRENT_MODIFICATION = "Данные были изменены другим запросом, повторите попытку.";
     public static final String AUTHOR_NOT_BOOKING = "Автор c ID = %s не закончил бронирование вещи с ID = %s для оставления комментария.";
     public static final String GET_CREATE_REQUEST = "Получен запрос на добавление: {}.";
     public static final String SUCCESS_CREATE = "Успешно создан: {}.";
+    public static final String SUCCESS_CREATE_BATCH = "Пакет бронирований обработан: создано {} из {}.";
     public static final String GET_UPDATE_REQUEST = "Получен запрос на обновление: {}.";
     public static final String SUCCESS_UPDATE = "Успешно обновлено: {}.";
     public static final String GET_ALL_REQUEST = "Получен запрос на получение всех данных.";
@@ -27,5 +35,12 @@ public class MessageHolder {
     public static final String SUCCESS_GET = "Успешно получены данные ID = {}.";
     public static final String SEARCH_ITEMS_REQUEST = "Запрос на поиск вещей по следующим словам: \"{}\".";
     public static final String SUCCESS_SEARCH_ITEMS = "Поиск успешно выполнен по следующим словам: \"{}\".";
+    public static final String SEARCH_INDEX_REBUILT = "Поисковый индекс построен, проиндексировано вещей: {}.";
+    public static final String TABLE_GENERATED = "Таблица {} заполнена тестовыми данными: {} строк за {} мс.";
+    public static final String DATA_GENERATED = "Генерация тестовых данных завершена за {} мс.";
+    public static final String DATA_GENERATION_SKIPPED = "Генерация тестовых данных пропущена: база данных не пуста.";
+    public static final String VIRTUAL_THREADS_ENABLED = "Запросы обрабатываются в виртуальных потоках, одновременных подключений к БД не более {}.";
+    public static final String VIRTUAL_THREADS_UNSUPPORTED = "Виртуальные потоки недоступны в Java %s, требуется Java 21 или новее.";
+    public static final String JDBC_PERMIT_TIMEOUT = "Не удалось получить подключение к БД за %d мс.";
     public static final String SUCCESS_DELETE = "Данные с ID = {} удалены.";
 }
\ No newline at end of file
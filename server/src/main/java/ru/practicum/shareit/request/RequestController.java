@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.PageRequestCustom;
 import ru.practicum.shareit.messageManager.MessageHolder;
 import ru.practicum.shareit.request.dto.RequestDto;
@@ -26,8 +27,12 @@ public class RequestController {
     }
 
     @GetMapping("/{requestId}")
-    public RequestDto get(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long requestId) {
+    public RequestDto get(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long requestId,
+                          WebRequest request) {
         log.info(String.format(MessageHolder.GET_REQUEST), requestId);
+        if (request.checkNotModified(service.getETag(userId, requestId))) {
+            return null;
+        }
         return service.get(userId, requestId);
     }
 
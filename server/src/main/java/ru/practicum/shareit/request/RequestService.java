@@ -2,7 +2,6 @@ package ru.practicum.shareit.request;
 
 import ru.practicum.shareit.PageRequestCustom;
 import ru.practicum.shareit.request.dto.RequestDto;
-import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 
@@ -15,5 +14,5 @@ public interface RequestService {
 
     RequestDto get(long userId, long requestId);
 
-    User getUser(long userId);
+    String getETag(long userId, long requestId);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.ETags;
 import ru.practicum.shareit.PageRequestCustom;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -11,7 +12,7 @@ import ru.practicum.shareit.messageManager.MessageHolder;
 import ru.practicum.shareit.request.dao.RequestRepository;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.model.Request;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -23,12 +24,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RequestServiceImpl implements RequestService {
     private final RequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
 
     @Override
     public RequestDto create(long userId, RequestDto requestDto) {
-        Request request = RequestMapper.mapToRequestEntity(requestDto, getUser(userId));
+        Request request = RequestMapper.mapToRequestEntity(requestDto, userLookup.get(userId));
         RequestDto result = RequestMapper.mapToRequestDto(requestRepository.save(request));
         log.info(MessageHolder.SUCCESS_CREATE, result);
         return result;
@@ -36,7 +37,7 @@ public class RequestServiceImpl implements RequestService {
 
     @Override
     public List<RequestDto> getOwnRequests(long userId) {
-        User requestor = getUser(userId);
+        User requestor = userLookup.get(userId);
         List<RequestDto> requests = requestRepository.findAllByRequestorId(requestor.getId(), Sort.by("created")).stream()
                 .map(RequestMapper::mapToRequestDto)
                 .collect(Collectors.toList());
@@ -62,7 +63,7 @@ public class RequestServiceImpl implements RequestService {
 
     @Override
     public RequestDto get(long userId, long requestId) {
-        User user = getUser(userId);
+        User user = userLookup.get(userId);
         RequestDto requestWithOutItems = RequestMapper.mapToRequestDto(requestRepository.getReferenceById(requestId));
         List<Item> itemsByRequest = findItemsByRequest(requestWithOutItems);
         RequestDto request = RequestMapper.mapRequestDtoWithItems(requestWithOutItems, itemsByRequest);
@@ -71,13 +72,10 @@ public class RequestServiceImpl implements RequestService {
     }
 
     @Override
-    public User getUser(long userId) {
-        User result = new User();
-        User user = userRepository.getReferenceById(userId);
-        if (user.getName() != null) {
-            result = user;
-        }
-        return result;
+    public String getETag(long userId, long requestId) {
+        userLookup.get(userId);
+        Request request = requestRepository.getReferenceById(requestId);
+        return ETags.of("request", requestId, request.getVersion(), itemRepository.findStampByRequestId(requestId));
     }
 
     private Map<Long, List<Item>> findItemsByRequests(List<RequestDto> requests) {
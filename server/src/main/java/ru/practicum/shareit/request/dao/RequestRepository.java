@@ -3,13 +3,16 @@ package ru.practicum.shareit.request.dao;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.request.model.Request;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
 
     List<Request> findAllByRequestorId(long userId, Sort sort);
 
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Request> findAllByRequestorIdNot(long userId, Pageable pageable);
 }
\ No newline at end of file
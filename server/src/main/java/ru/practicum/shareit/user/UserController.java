@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.messageManager.MessageHolder;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -22,8 +23,11 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto get(@PathVariable long userId) {
+    public UserDto get(@PathVariable long userId, WebRequest request) {
         log.info(MessageHolder.GET_REQUEST, userId);
+        if (request.checkNotModified(service.getETag(userId))) {
+            return null;
+        }
         return service.get(userId);
     }
 
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.CacheConfig;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+@Component
+@RequiredArgsConstructor
+public class UserLookup {
+    private final UserRepository userRepository;
+
+    @Cacheable(cacheNames = CacheConfig.USERS)
+    @Transactional(readOnly = true)
+    public User get(long userId) {
+        User user = userRepository.getReferenceById(userId);
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .version(user.getVersion())
+                .build();
+    }
+}
@@ -11,6 +11,8 @@ public interface UserService {
 
     UserDto get(long userId);
 
+    String getETag(long userId);
+
     List<UserDto> getAll();
 
     UserDto update(long userId, UserDto userDto);
@@ -2,7 +2,10 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.CacheConfig;
+import ru.practicum.shareit.ETags;
 import ru.practicum.shareit.messageManager.MessageHolder;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -32,6 +35,11 @@ public class UserServiceImpl implements UserService {
         return UserMapper.mapToUserDto(user);
     }
 
+    @Override
+    public String getETag(long userId) {
+        return ETags.of("user", userId, repository.getReferenceById(userId).getVersion());
+    }
+
     @Override
     public List<UserDto> getAll() {
         List<UserDto> users = repository.findAll().stream()
@@ -42,6 +50,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto update(long userId, UserDto userDtoPatch) {
         User oldUser = repository.getReferenceById(userId);
         User result = repository.save(getUpdatedUser(oldUser, UserMapper.mapToUserEntity(userDtoPatch)));
@@ -51,6 +60,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public void delete(long userId) {
         repository.delete(repository.getReferenceById(userId));
         log.info(MessageHolder.SUCCESS_DELETE, userId);
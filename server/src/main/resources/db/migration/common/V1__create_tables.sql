@@ -42,4 +42,4 @@ create table if not exists public.comments (
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id),
     CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id)
-);
\ No newline at end of file
+);
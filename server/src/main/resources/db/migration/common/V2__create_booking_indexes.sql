@@ -0,0 +1,9 @@
+create index if not exists idx_bookings_booker_start on public.bookings (booker_id, start_date desc);
+
+create index if not exists idx_bookings_item_status_start on public.bookings (item_id, status, start_date);
+
+create index if not exists idx_items_user on public.items (user_id);
+
+create index if not exists idx_items_request on public.items (request_id);
+
+create index if not exists idx_comments_item on public.comments (item_id);
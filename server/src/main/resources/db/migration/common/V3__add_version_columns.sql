@@ -0,0 +1,7 @@
+alter table public.users add column if not exists version bigint NOT NULL default 0;
+
+alter table public.items add column if not exists version bigint NOT NULL default 0;
+
+alter table public.requests add column if not exists version bigint NOT NULL default 0;
+
+alter table public.bookings add column if not exists version bigint NOT NULL default 0;
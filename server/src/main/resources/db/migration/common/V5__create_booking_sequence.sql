@@ -0,0 +1 @@
+create sequence if not exists public.bookings_seq increment by 50;
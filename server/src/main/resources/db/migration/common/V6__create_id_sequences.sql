@@ -0,0 +1,7 @@
+create sequence if not exists public.users_seq increment by 20;
+
+create sequence if not exists public.requests_seq increment by 20;
+
+create sequence if not exists public.items_seq increment by 50;
+
+create sequence if not exists public.comments_seq increment by 50;
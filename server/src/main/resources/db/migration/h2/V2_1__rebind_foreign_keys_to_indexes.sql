@@ -0,0 +1,5 @@
+alter table public.items drop constraint fk_items_to_users;
+alter table public.items add constraint fk_items_to_users foreign key (user_id) references public.users (id);
+
+alter table public.comments drop constraint fk_comments_to_items;
+alter table public.comments add constraint fk_comments_to_items foreign key (item_id) references public.items (id);
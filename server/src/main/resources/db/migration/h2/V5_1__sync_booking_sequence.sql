@@ -0,0 +1 @@
+alter sequence public.bookings_seq restart with (select coalesce(max(id), 0) + 1 from public.bookings);
@@ -0,0 +1,7 @@
+alter sequence public.users_seq restart with (select coalesce(max(id), 0) + 1 from public.users);
+
+alter sequence public.requests_seq restart with (select coalesce(max(id), 0) + 1 from public.requests);
+
+alter sequence public.items_seq restart with (select coalesce(max(id), 0) + 1 from public.items);
+
+alter sequence public.comments_seq restart with (select coalesce(max(id), 0) + 1 from public.comments);
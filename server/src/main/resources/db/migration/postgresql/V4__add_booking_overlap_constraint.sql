@@ -0,0 +1,22 @@
+create extension if not exists btree_gist;
+
+-- Overlapping approved bookings are confirmed customer bookings: the migration stops and lists them
+-- instead of choosing which one to cancel. Resolve them by hand and run the migration again.
+do $$
+declare
+    conflicts text;
+begin
+    select string_agg(o.id || ' and ' || b.id, ', ' order by o.id, b.id) into conflicts
+    from public.bookings as b
+    join public.bookings as o on o.item_id = b.item_id and o.status = 'APPROVED' and o.id < b.id
+        and o.start_date < b.end_date and o.end_date > b.start_date
+    where b.status = 'APPROVED';
+    if conflicts is not null then
+        raise exception 'Approved bookings overlap, resolve them before adding the constraint: %', conflicts;
+    end if;
+end
+$$;
+
+alter table public.bookings add constraint ex_bookings_item_approved_period
+    exclude using gist (item_id with =, tsrange(start_date, end_date, '[)') with &&)
+    where (status = 'APPROVED');
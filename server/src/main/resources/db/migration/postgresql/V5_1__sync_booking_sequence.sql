@@ -0,0 +1 @@
+select setval('public.bookings_seq', (select coalesce(max(id), 0) + 1 from public.bookings), false);
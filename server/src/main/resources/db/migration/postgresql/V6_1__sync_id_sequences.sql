@@ -0,0 +1,7 @@
+select setval('public.users_seq', (select coalesce(max(id), 0) + 1 from public.users), false);
+
+select setval('public.requests_seq', (select coalesce(max(id), 0) + 1 from public.requests), false);
+
+select setval('public.items_seq', (select coalesce(max(id), 0) + 1 from public.items), false);
+
+select setval('public.comments_seq', (select coalesce(max(id), 0) + 1 from public.comments), false);
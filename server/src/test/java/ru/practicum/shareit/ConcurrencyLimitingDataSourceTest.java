@@ -0,0 +1,44 @@
+package ru.practicum.shareit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrencyLimitingDataSourceTest {
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource target = new JdbcDataSource();
+        target.setURL("jdbc:h2:mem:limiter");
+        dataSource = new ConcurrencyLimitingDataSource(target, 1, 50);
+    }
+
+    @Test
+    void testWaitingCallerTimesOutWhileAllPermitsAreHeld() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1), equalTo(true));
+        }
+    }
+
+    @Test
+    void testRepeatedCloseReleasesPermitOnce() throws Exception {
+        Connection connection = dataSource.getConnection();
+        assertThat(connection, instanceOf(ConnectionProxy.class));
+        connection.close();
+        connection.close();
+        assertThat(dataSource.availablePermits(), equalTo(1));
+    }
+}
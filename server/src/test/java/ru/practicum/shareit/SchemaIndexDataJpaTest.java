@@ -0,0 +1,54 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.persistence.EntityManager;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SchemaIndexDataJpaTest {
+    private final EntityManager em;
+
+    @Test
+    void bookerBookingsUseBookerStartIndex() {
+        assertThat(
+                explain("select * from bookings where booker_id = 1 and start_date > localtimestamp " +
+                        "order by start_date desc"),
+                containsString("IDX_BOOKINGS_BOOKER_START")
+        );
+    }
+
+    @Test
+    void itemBookingsUseItemStatusStartIndex() {
+        assertThat(
+                explain("select * from bookings where item_id in (1, 2) and status = 'APPROVED' " +
+                        "and start_date < localtimestamp"),
+                containsString("IDX_BOOKINGS_ITEM_STATUS_START")
+        );
+    }
+
+    @Test
+    void ownerItemsUseUserIndex() {
+        assertThat(explain("select * from items where user_id = 1"), containsString("IDX_ITEMS_USER"));
+    }
+
+    @Test
+    void requestItemsUseRequestIndex() {
+        assertThat(explain("select * from items where request_id in (1, 2)"), containsString("IDX_ITEMS_REQUEST"));
+    }
+
+    @Test
+    void itemCommentsUseItemIndex() {
+        assertThat(explain("select * from comments where item_id in (1, 2)"), containsString("IDX_COMMENTS_ITEM"));
+    }
+
+    private String explain(String sql) {
+        return em.createNativeQuery("explain " + sql).getSingleResult().toString();
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBooker;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
@@ -29,6 +30,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -139,6 +141,28 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.booker.email", is(bookingDtoWithInfo.getBooker().getEmail())));
     }
 
+    @Test
+    void testCreateAll() throws Exception {
+        List<BookingDto> bookingDtos = List.of(bookingDtoOne, bookingDtoOne);
+        Mockito
+                .when(bookingService.createAll(user.getId(), bookingDtos))
+                .thenReturn(List.of(
+                        BookingBatchResultDto.created(bookingDtoWithInfo),
+                        BookingBatchResultDto.failed("error")));
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(bookingDtos))
+                        .header("X-Sharer-User-Id", user.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDtoWithInfo.getId()), Long.class))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].booking").doesNotExist())
+                .andExpect(jsonPath("$[1].error", is("error")));
+    }
+
     @Test
     void testGet() throws Exception {
         Mockito
@@ -209,6 +233,22 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].booker.email", is(bookingDtoWithInfoTwo.getBooker().getEmail())));
     }
 
+    @Test
+    void testGetAllByBookerReturnsNextCursorForFullPage() throws Exception {
+        Mockito
+                .when(bookingService.getAllByBooker(anyLong(), any()))
+                .thenReturn(new ArrayList<>(List.of(bookingDtoWithInfoTwo)));
+        mvc.perform(get("/bookings?state=ALL&size=1")
+                        .header("X-Sharer-User-Id", requestor.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(
+                        BookingController.NEXT_CURSOR_HEADER, BookingCursor.of(bookingDtoWithInfoTwo).encode()
+                ));
+    }
+
     @Test
     void testGetAllByOwner() throws Exception {
         List<BookingDtoWithInfo> bookings = new ArrayList<>(List.of(bookingDtoWithInfo, bookingDtoWithInfoTwo));
@@ -6,7 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.BookingSpecifications;
 import ru.practicum.shareit.booking.dto.BookingDtoWithBookerAndItem;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
@@ -16,6 +20,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -52,8 +57,8 @@ public class BookingRepositoryDataJpaTest {
         Booking nextBooking = makeBookingEntity(start, end, item, booker, BookingState.WAITING);
         List<Booking> sourceBookings = new ArrayList<>(List.of(nextBooking));
         em.persist(nextBooking);
-        List<BookingDtoWithBookerAndItem> nextBookingDtoWithBookers = bookingRepository.findNextBookingForItemsByUser(
-                user.getId(), LocalDateTime.now()
+        List<BookingDtoWithBookerAndItem> nextBookingDtoWithBookers = bookingRepository.findNextBookingForItems(
+                Set.of(item.getId()), LocalDateTime.now()
         );
         assertThat(nextBookingDtoWithBookers, hasSize(sourceBookings.size()));
         for (Booking booking: sourceBookings) {
@@ -74,8 +79,8 @@ public class BookingRepositoryDataJpaTest {
         Booking lastBooking = makeBookingEntity(start, end, item, booker, BookingState.WAITING);
         List<Booking> sourceBookings = new ArrayList<>(List.of(lastBooking));
         em.persist(lastBooking);
-        List<BookingDtoWithBookerAndItem> lastBookingForItemsByUser = bookingRepository.findLastBookingForItemsByUser(
-                user.getId(), LocalDateTime.now()
+        List<BookingDtoWithBookerAndItem> lastBookingForItemsByUser = bookingRepository.findLastBookingForItems(
+                Set.of(item.getId()), LocalDateTime.now()
         );
         assertThat(lastBookingForItemsByUser, hasSize(sourceBookings.size()));
         for (Booking booking: sourceBookings) {
@@ -87,6 +92,77 @@ public class BookingRepositoryDataJpaTest {
         }
     }
 
+    @Test
+    void lastAndNextBookingForItemsReturnOneRowPerItem() {
+        Item otherItem = makeItemEntity("item N2", "description", true, user);
+        em.persist(otherItem);
+        Item notRequestedItem = makeItemEntity("item N3", "description", true, user);
+        em.persist(notRequestedItem);
+        LocalDateTime now = LocalDateTime.now();
+        Booking olderBooking = makeBookingEntity(now.minusDays(5), now.minusDays(4), item, booker, BookingState.APPROVED);
+        Booking lastBooking = makeBookingEntity(now.minusDays(3), now.minusDays(2), item, booker, BookingState.APPROVED);
+        Booking rejectedBooking = makeBookingEntity(now.plusDays(1), now.plusDays(2), item, booker, BookingState.REJECTED);
+        Booking nextBooking = makeBookingEntity(now.plusDays(3), now.plusDays(4), item, booker, BookingState.WAITING);
+        Booking laterBooking = makeBookingEntity(now.plusDays(5), now.plusDays(6), item, booker, BookingState.APPROVED);
+        Booking otherNextBooking = makeBookingEntity(now.plusDays(1), now.plusDays(2), otherItem, booker, BookingState.APPROVED);
+        Booking notRequestedBooking = makeBookingEntity(now.plusDays(1), now.plusDays(2), notRequestedItem, booker, BookingState.APPROVED);
+        for (Booking booking : List.of(olderBooking, lastBooking, rejectedBooking, nextBooking, laterBooking,
+                otherNextBooking, notRequestedBooking)) {
+            em.persist(booking);
+        }
+        Set<Long> itemIds = Set.of(item.getId(), otherItem.getId());
+        List<BookingDtoWithBookerAndItem> next = bookingRepository.findNextBookingForItems(itemIds, now);
+        assertThat(next, containsInAnyOrder(
+                allOf(hasProperty("id", equalTo(nextBooking.getId())), hasProperty("itemId", equalTo(item.getId()))),
+                allOf(hasProperty("id", equalTo(otherNextBooking.getId())),
+                        hasProperty("itemId", equalTo(otherItem.getId())))
+        ));
+        List<BookingDtoWithBookerAndItem> last = bookingRepository.findLastBookingForItems(itemIds, now);
+        assertThat(last, contains(allOf(
+                hasProperty("id", equalTo(lastBooking.getId())),
+                hasProperty("bookerId", equalTo(booker.getId())),
+                hasProperty("itemId", equalTo(item.getId()))
+        )));
+    }
+
+    @Test
+    void nextBookingForItemsResolvesEqualStartsToSingleRow() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking firstBooking = makeBookingEntity(now.plusDays(1), now.plusDays(2), item, booker, BookingState.APPROVED);
+        Booking sameStartBooking = makeBookingEntity(now.plusDays(1), now.plusDays(3), item, user, BookingState.WAITING);
+        em.persist(firstBooking);
+        em.persist(sameStartBooking);
+        List<BookingDtoWithBookerAndItem> next = bookingRepository.findNextBookingForItems(Set.of(item.getId()), now);
+        assertThat(next, contains(hasProperty("id", equalTo(firstBooking.getId()))));
+    }
+
+    @Test
+    void findPageFiltersByRoleAndStateInDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking oldest = makeBookingEntity(now.minusDays(9), now.minusDays(8), item, booker, BookingState.APPROVED);
+        Booking older = makeBookingEntity(now.minusDays(7), now.minusDays(6), item, booker, BookingState.REJECTED);
+        Booking old = makeBookingEntity(now.minusDays(5), now.minusDays(4), item, booker, BookingState.APPROVED);
+        Booking current = makeBookingEntity(now.minusDays(1), now.plusDays(1), item, booker, BookingState.APPROVED);
+        Booking future = makeBookingEntity(now.plusDays(1), now.plusDays(2), item, booker, BookingState.WAITING);
+        for (Booking booking : List.of(oldest, older, old, current, future)) {
+            em.persist(booking);
+        }
+        Sort byStartDesc = Sort.by("start").descending();
+        Specification<Booking> pastByBooker = BookingSpecifications.byBooker(booker.getId())
+                .and(BookingSpecifications.byState(BookingState.PAST, now));
+        assertThat(bookingRepository.findPage(pastByBooker, PageRequest.of(0, 2, byStartDesc)), contains(old, older));
+        assertThat(bookingRepository.findPage(pastByBooker, PageRequest.of(1, 2, byStartDesc)), contains(oldest));
+        Specification<Booking> currentByOwner = BookingSpecifications.byOwner(user.getId())
+                .and(BookingSpecifications.byState(BookingState.CURRENT, now));
+        assertThat(bookingRepository.findPage(currentByOwner, PageRequest.of(0, 10, byStartDesc)), contains(current));
+        Specification<Booking> waitingByOwner = BookingSpecifications.byOwner(user.getId())
+                .and(BookingSpecifications.byState(BookingState.WAITING, now));
+        assertThat(bookingRepository.findPage(waitingByOwner, PageRequest.of(0, 10, byStartDesc)), contains(future));
+        Specification<Booking> allByOtherBooker = BookingSpecifications.byBooker(user.getId())
+                .and(BookingSpecifications.byState(BookingState.ALL, now));
+        assertThat(bookingRepository.findPage(allByOtherBooker, PageRequest.of(0, 10, byStartDesc)), empty());
+    }
+
     private Booking makeBookingEntity(LocalDateTime dateTimeOne,
                                       LocalDateTime dateTimeTwo,
                                       Item item,
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.PageRequestCustom;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
 import ru.practicum.shareit.booking.model.Booking;
@@ -23,6 +26,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -37,7 +42,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @TestPropertySource(locations = "classpath:test.properties")
 public class BookingServiceImplTest {
-    private static final Sort SORT_BY_START_DESC = Sort.by("start").descending();
+    private static final Sort SORT_BY_START_DESC = BookingCursor.ORDER;
     private final BookingService service;
     private final EntityManager em;
     private User user;
@@ -102,6 +107,71 @@ public class BookingServiceImplTest {
         );
     }
 
+    @Test
+    void testCreateOverlappingApproved() {
+        LocalDateTime futureStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        em.persist(makeBookingEntity(futureStart, futureStart.plusHours(2), item, otherUser, BookingState.APPROVED));
+        em.flush();
+        final NotAvailableItemException exception = assertThrows(
+                NotAvailableItemException.class,
+                () -> service.create(booker.getId(), makeBookingDto(futureStart.plusHours(1), futureStart.plusHours(3), item.getId()))
+        );
+        assertEquals(String.format(MessageHolder.BOOKING_OVERLAP, item.getId()), exception.getMessage());
+        BookingDtoWithInfo result = service.create(booker.getId(),
+                makeBookingDto(futureStart.plusHours(2), futureStart.plusHours(3), item.getId()));
+        assertThat(result.getId(), notNullValue());
+        assertThat(result.getStatus(), equalTo(BookingState.WAITING));
+    }
+
+    @Test
+    void testCreateAll() {
+        LocalDateTime futureStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        em.persist(makeBookingEntity(futureStart, futureStart.plusHours(2), item, otherUser, BookingState.APPROVED));
+        em.flush();
+        List<BookingBatchResultDto> results = service.createAll(booker.getId(), List.of(
+                makeBookingDto(futureStart.plusHours(2), futureStart.plusHours(3), item.getId()),
+                makeBookingDto(futureStart.plusHours(1), futureStart.plusHours(3), item.getId()),
+                makeBookingDto(futureStart.plusHours(1), futureStart.plusHours(3), itemTwo.getId()),
+                makeBookingDto(futureStart.plusHours(3), futureStart.plusHours(2), itemTwo.getId()),
+                makeBookingDto(futureStart, futureStart.plusHours(1), -1)
+        ));
+        assertThat(results, hasSize(5));
+        assertThat(results.get(0).getError(), nullValue());
+        assertThat(results.get(0).getBooking().getItem().getId(), equalTo(item.getId()));
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(BookingState.WAITING));
+        assertThat(results.get(1).getError(), equalTo(String.format(MessageHolder.BOOKING_OVERLAP, item.getId())));
+        assertThat(results.get(2).getBooking().getItem().getId(), equalTo(itemTwo.getId()));
+        assertThat(results.get(3).getError(), equalTo(MessageHolder.END_BEFORE_START));
+        assertThat(results.get(4).getError(), equalTo(String.format(MessageHolder.ITEM_NOT_FOUND, -1)));
+        em.flush();
+        assertThat(em.find(Booking.class, results.get(2).getBooking().getId()).getBooker().getId(),
+                equalTo(booker.getId()));
+    }
+
+    @Test
+    void testCreateAllWithNullEntry() {
+        LocalDateTime futureStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<BookingBatchResultDto> results = service.createAll(booker.getId(), Arrays.asList(
+                null,
+                makeBookingDto(futureStart, futureStart.plusHours(1), item.getId())
+        ));
+        assertThat(results, hasSize(2));
+        assertThat(results.get(0).getBooking(), nullValue());
+        assertThat(results.get(0).getError(), equalTo(MessageHolder.BOOKING_IS_NULL));
+        assertThat(results.get(1).getError(), nullValue());
+        assertThat(results.get(1).getBooking().getItem().getId(), equalTo(item.getId()));
+    }
+
+    @Test
+    void testCreateAllByOwner() {
+        LocalDateTime futureStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<BookingBatchResultDto> results = service.createAll(user.getId(), List.of(
+                makeBookingDto(futureStart, futureStart.plusHours(1), item.getId())
+        ));
+        assertThat(results.get(0).getBooking(), nullValue());
+        assertThat(results.get(0).getError(), equalTo(String.format(MessageHolder.OWNER_ITEM, user.getId())));
+    }
+
     @Test
     void testCreateWithOwnerForYourSelf() {
         item.setAvailable(false);
@@ -255,6 +325,104 @@ public class BookingServiceImplTest {
         }
     }
 
+    @Test
+    void testGetAllByBookerWithCursor() {
+        LocalDateTime sameStart = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Booking> sourceBookings = List.of(
+                makeBookingEntity(sameStart.plusDays(1), sameStart.plusDays(2), item, booker, BookingState.WAITING),
+                makeBookingEntity(sameStart, sameStart.plusHours(1), item, booker, BookingState.WAITING),
+                makeBookingEntity(sameStart, sameStart.plusHours(2), itemTwo, booker, BookingState.WAITING)
+        );
+        for (Booking booking : sourceBookings) {
+            em.persist(booking);
+        }
+        em.flush();
+        List<BookingDtoWithInfo> firstPage = service.getAllByBooker(
+                booker.getId(),
+                new Filter(new StateHolder("FUTURE"), new PageRequestCustom(0, 2, SORT_BY_START_DESC))
+        );
+        assertThat(firstPage, contains(
+                hasProperty("id", equalTo(sourceBookings.get(0).getId())),
+                hasProperty("id", equalTo(sourceBookings.get(2).getId()))
+        ));
+        List<BookingDtoWithInfo> secondPage = service.getAllByBooker(
+                booker.getId(),
+                new Filter(
+                        new StateHolder("FUTURE"),
+                        new PageRequestCustom(0, 2, SORT_BY_START_DESC),
+                        BookingCursor.decode(BookingCursor.of(firstPage.get(1)).encode())
+                )
+        );
+        assertThat(secondPage, contains(hasProperty("id", equalTo(sourceBookings.get(1).getId()))));
+    }
+
+    @Test
+    void testGetAllByBookerWithOffsetNotMultipleOfSize() {
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Booking> sourceBookings = List.of(
+                makeBookingEntity(firstStart.plusDays(2), firstStart.plusDays(3), item, booker, BookingState.WAITING),
+                makeBookingEntity(firstStart.plusDays(1), firstStart.plusDays(2), item, booker, BookingState.WAITING),
+                makeBookingEntity(firstStart, firstStart.plusDays(1), item, booker, BookingState.WAITING)
+        );
+        for (Booking booking : sourceBookings) {
+            em.persist(booking);
+        }
+        em.flush();
+        List<BookingDtoWithInfo> bookings = service.getAllByBooker(
+                booker.getId(),
+                new Filter(new StateHolder("ALL"), new PageRequestCustom(1, 2, SORT_BY_START_DESC))
+        );
+        assertThat(bookings, contains(
+                hasProperty("id", equalTo(sourceBookings.get(1).getId())),
+                hasProperty("id", equalTo(sourceBookings.get(2).getId()))
+        ));
+    }
+
+    @Test
+    void testGetAllByBookerAndOwnerLoadPageInSingleStatement() {
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            em.persist(makeBookingEntity(
+                    firstStart.plusDays(i), firstStart.plusDays(i + 1), i % 2 == 0 ? item : itemTwo, booker,
+                    BookingState.WAITING
+            ));
+        }
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            List<BookingDtoWithInfo> bookings = service.getAllByBooker(
+                    booker.getId(),
+                    new Filter(new StateHolder("ALL"), new PageRequestCustom(0, 10, SORT_BY_START_DESC))
+            );
+            assertThat(bookings, hasSize(5));
+            assertThat(bookings, everyItem(hasProperty("item", hasProperty("name", notNullValue()))));
+            assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+            em.clear();
+            statistics.clear();
+            bookings = service.getAllByOwner(
+                    user.getId(),
+                    new Filter(new StateHolder("FUTURE"), new PageRequestCustom(0, 10, SORT_BY_START_DESC))
+            );
+            assertThat(bookings, hasSize(5));
+            assertThat(bookings, everyItem(hasProperty("booker", hasProperty("name", equalTo(booker.getName())))));
+            assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void testDecodeNotValidCursor() {
+        final NotValidCursorException exception = assertThrows(
+                NotValidCursorException.class,
+                () -> BookingCursor.decode("not-a-cursor")
+        );
+        assertEquals(String.format(MessageHolder.CURSOR_NOT_VALID, "not-a-cursor"), exception.getMessage());
+    }
+
     @Test
     void testGetAllByBookerWithPageParameterWithApprovedState() {
         String startInstrForSecondBooking = "2023-08-05 11:30:40";
@@ -610,6 +778,35 @@ public class BookingServiceImplTest {
         assertEquals(String.format(MessageHolder.BOOKING_ALREADY_APPROVED, booking.getId()), exception.getMessage());
     }
 
+    @Test
+    void testApproveTwice() {
+        em.persist(booking);
+        em.flush();
+        service.approve(user.getId(), booking.getId(), false);
+        final NotValidDataForUpdateException exception = assertThrows(
+                NotValidDataForUpdateException.class,
+                () -> service.approve(user.getId(), booking.getId(), true)
+        );
+        assertEquals(String.format(MessageHolder.BOOKING_ALREADY_APPROVED, booking.getId()), exception.getMessage());
+        Booking stored = em.find(Booking.class, booking.getId());
+        assertThat(stored.getState(), equalTo(BookingState.REJECTED));
+        assertThat(stored.getVersion(), equalTo(1L));
+    }
+
+    @Test
+    void testApproveOverlappingApproved() {
+        em.persist(makeBookingEntity(start.minusMinutes(10), start.plusMinutes(10), item, otherUser, BookingState.APPROVED));
+        em.persist(booking);
+        em.flush();
+        final NotAvailableItemException exception = assertThrows(
+                NotAvailableItemException.class,
+                () -> service.approve(user.getId(), booking.getId(), true)
+        );
+        assertEquals(String.format(MessageHolder.APPROVED_BOOKING_OVERLAP, booking.getId()), exception.getMessage());
+        BookingDtoWithInfo result = service.approve(user.getId(), booking.getId(), false);
+        assertThat(result.getStatus(), equalTo(BookingState.REJECTED));
+    }
+
     @Test
     void testApproveByBooker() {
         em.persist(booking);
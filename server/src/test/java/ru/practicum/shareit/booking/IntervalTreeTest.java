@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.calendar.BookingSlot;
+import ru.practicum.shareit.booking.calendar.IntervalTree;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class IntervalTreeTest {
+    private final LocalDateTime base = LocalDateTime.of(2030, 6, 1, 0, 0);
+    private IntervalTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new IntervalTree();
+        tree.put(makeSlot(1L, 0, 10));
+        tree.put(makeSlot(2L, 20, 30));
+        tree.put(makeSlot(3L, 25, 60));
+        tree.put(makeSlot(4L, 70, 80));
+    }
+
+    @Test
+    void testFindOverlapping() {
+        assertThat(ids(tree.findOverlapping(hour(5), hour(21))), contains(1L, 2L));
+        assertThat(ids(tree.findOverlapping(hour(30), hour(70))), contains(3L));
+        assertThat(ids(tree.findOverlapping(hour(10), hour(20))), empty());
+        assertThat(ids(tree.findOverlapping(hour(80), hour(90))), empty());
+    }
+
+    @Test
+    void testFindLastAndFirst() {
+        assertThat(tree.findLastStartedBefore(hour(25)).getId(), equalTo(2L));
+        assertThat(tree.findFirstStartedAfter(hour(25)).getId(), equalTo(4L));
+        assertThat(tree.findLastStartedBefore(hour(0)), nullValue());
+        assertThat(tree.findFirstStartedAfter(hour(70)), nullValue());
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletes() {
+        tree.put(makeSlot(3L, 100, 110));
+        assertThat(ids(tree.findOverlapping(hour(30), hour(70))), empty());
+        assertThat(tree.findFirstStartedAfter(hour(80)).getId(), equalTo(3L));
+        assertThat(tree.remove(3L), is(true));
+        assertThat(tree.remove(3L), is(false));
+        assertThat(tree.size(), equalTo(3));
+        assertThat(tree.findFirstStartedAfter(hour(80)), nullValue());
+    }
+
+    @Test
+    void testMatchesFullScan() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Long, BookingSlot> slots = new HashMap<>();
+        IntervalTree randomTree = new IntervalTree();
+        for (int step = 0; step < 5000; step++) {
+            long id = 1 + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                assertThat(randomTree.remove(id), equalTo(slots.remove(id) != null));
+            } else {
+                int start = random.nextInt(1000);
+                BookingSlot slot = makeSlot(id, start, start + 1 + random.nextInt(50));
+                randomTree.put(slot);
+                slots.put(id, slot);
+            }
+            LocalDateTime from = hour(random.nextInt(1000));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(40));
+            List<Long> expected = slots.values().stream()
+                    .filter(slot -> slot.getStart().isBefore(to) && slot.getEnd().isAfter(from))
+                    .sorted(Comparator.comparing(BookingSlot::getStart).thenComparingLong(BookingSlot::getId))
+                    .map(BookingSlot::getId)
+                    .collect(Collectors.toList());
+            assertThat(ids(randomTree.findOverlapping(from, to)), equalTo(expected));
+            assertThat(randomTree.size(), equalTo(slots.size()));
+        }
+    }
+
+    private List<Long> ids(List<BookingSlot> slots) {
+        List<Long> ids = new ArrayList<>();
+        slots.forEach(slot -> ids.add(slot.getId()));
+        return ids;
+    }
+
+    private LocalDateTime hour(int hours) {
+        return base.plusHours(hours);
+    }
+
+    private BookingSlot makeSlot(long id, int startHour, int endHour) {
+        return new BookingSlot(id, 1L, hour(startHour), hour(endHour), BookingState.APPROVED);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1"
+)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@TestPropertySource(locations = "classpath:test.properties")
+public class DataGeneratorTest {
+    private static final List<String> TABLES = List.of("comments", "bookings", "items", "requests", "users");
+    private final DataGenerator dataGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        for (String table : TABLES) {
+            jdbcTemplate.execute("delete from " + table);
+            jdbcTemplate.execute("alter table " + table + " alter column id restart with 1");
+        }
+    }
+
+    @Test
+    void testGenerateLoadsConfiguredVolumes() {
+        DataGeneratorProperties properties = makeProperties(1);
+        dataGenerator.generate(properties);
+
+        assertThat(count("users"), equalTo(properties.getUsers()));
+        assertThat(count("requests"), equalTo(properties.getRequests()));
+        assertThat(count("items"), equalTo(properties.getItems()));
+        assertThat(count("bookings"), equalTo(properties.getBookings()));
+        assertThat(count("comments"), equalTo(properties.getComments()));
+        assertThat(dataGenerator.isEmpty(), equalTo(false));
+
+        User user = userRepository.save(User.builder().name("New").email("new@email").build());
+        assertThat(user.getId(), equalTo(properties.getUsers() + 1));
+    }
+
+    @Test
+    void testGenerateIsReproducibleForSameSeed() {
+        dataGenerator.generate(makeProperties(1));
+        Map<String, Object> first = fingerprint();
+        tearDown();
+        dataGenerator.generate(makeProperties(4));
+
+        assertThat(fingerprint(), equalTo(first));
+    }
+
+    @Test
+    void testOwnersAreSkewedAndNeverBookOwnItems() {
+        DataGeneratorProperties properties = makeProperties(1);
+        dataGenerator.generate(properties);
+
+        Long topOwnerItems = jdbcTemplate.queryForObject(
+                "select max(cnt) from (select count(*) cnt from items group by user_id) owners", Long.class);
+        assertThat(topOwnerItems, greaterThan(5 * properties.getItems() / properties.getUsers()));
+        Long ownBookings = jdbcTemplate.queryForObject(
+                "select count(*) from bookings b join items i on b.item_id = i.id where b.booker_id = i.user_id",
+                Long.class);
+        assertThat(ownBookings, equalTo(0L));
+        Long futureBookings = jdbcTemplate.queryForObject(
+                "select count(*) from bookings where start_date > ?", Long.class,
+                properties.getAnchor().atStartOfDay());
+        assertThat(futureBookings, allOf(greaterThan(0L), lessThan(properties.getBookings())));
+    }
+
+    private Map<String, Object> fingerprint() {
+        return jdbcTemplate.queryForMap("select "
+                + "(select sum(user_id * 7 + coalesce(request_id, 0)) from items) items, "
+                + "(select sum(item_id * 7 + booker_id) from bookings) bookings, "
+                + "(select max(start_date) from bookings) last_start, "
+                + "(select sum(author_id) from comments) comments");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private DataGeneratorProperties makeProperties(int threads) {
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setUsers(100);
+        properties.setItems(2_000);
+        properties.setRequests(50);
+        properties.setBookings(10_000);
+        properties.setComments(1_000);
+        properties.setBatchSize(500);
+        properties.setThreads(threads);
+        properties.setAnchor(LocalDate.of(2024, 1, 1));
+        return properties;
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class InvertedIndexItemSearchEngineTest {
+    private InvertedIndexItemSearchEngine engine;
+    private BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        engine = new InvertedIndexItemSearchEngine(Mockito.mock(ItemRepository.class), bookingRepository);
+        engine.index(makeItem(1L, "Дрель", "Простая дрель", true));
+        engine.index(makeItem(2L, "Аккумуляторная отвертка", "Аккумулятор на 2 часа работы, дрель в комплекте", true));
+        engine.index(makeItem(3L, "Дрель ударная", "Мощная", false));
+        engine.index(makeItem(4L, "Item NUMBER1", "description1", true));
+    }
+
+    @Test
+    void testSearchIsCaseInsensitiveAndRanksNameMatchesFirst() {
+        List<Long> result = search("ДРЕЛЬ");
+        assertThat(result, contains(1L, 2L));
+    }
+
+    @Test
+    void testSearchMatchesTermPrefixes() {
+        assertThat(search("аккум"), contains(2L));
+        assertThat(search("item number"), contains(4L));
+    }
+
+    @Test
+    void testSearchRequiresAllTerms() {
+        assertThat(search("дрель комплекте"), contains(2L));
+        assertThat(search("дрель пила"), empty());
+    }
+
+    @Test
+    void testSearchSkipsUnavailableItems() {
+        assertThat(search("ударная"), empty());
+        engine.index(makeItem(3L, "Дрель ударная", "Мощная", true));
+        assertThat(search("ударная"), contains(3L));
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        engine.index(makeItem(1L, "Перфоратор", "Простой", true));
+        assertThat(search("дрель"), contains(2L));
+        assertThat(search("перфоратор"), contains(1L));
+        engine.remove(1L);
+        assertThat(search("перфоратор"), empty());
+    }
+
+    @Test
+    void testBlankQuery() {
+        assertThat(search(" ,. "), empty());
+    }
+
+    @Test
+    void testSearchContinuesAfterCursor() {
+        List<ItemSearchHit> firstPage = engine.search("дрель", null, PageRequest.of(0, 1));
+        assertThat(ids(firstPage), contains(1L));
+        List<ItemSearchHit> secondPage = engine.search("дрель", firstPage.get(0), PageRequest.of(0, 1));
+        assertThat(ids(secondPage), contains(2L));
+        assertThat(engine.search("дрель", secondPage.get(0), PageRequest.of(0, 1)), empty());
+        assertThat(ids(engine.search("дрель", null, PageRequest.of(1, 1))), contains(2L));
+    }
+
+    @Test
+    void testSearchContinuesAfterRemovedCursorItem() {
+        ItemSearchHit cursor = engine.search("дрель", null, PageRequest.of(0, 1)).get(0);
+        engine.remove(cursor.getId());
+        assertThat(ids(engine.search("дрель", cursor, PageRequest.of(0, 1))), contains(2L));
+        assertThat(ids(engine.search("дрель", ItemSearchHit.decode(cursor.encode()), PageRequest.of(0, 1))),
+                contains(2L));
+    }
+
+    @Test
+    void testSearchFreeSkipsBusyItems() {
+        LocalDateTime start = LocalDateTime.of(2030, 6, 12, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 6, 14, 0, 0);
+        Mockito
+                .when(bookingRepository.findBusyItemIds(Mockito.anyCollection(), Mockito.eq(start), Mockito.eq(end)))
+                .thenReturn(Set.of(1L));
+        engine.index(makeItem(5L, "Дрель", "Еще одна", true));
+        assertThat(ids(engine.searchFree("дрель", start, end, null, PageRequest.of(0, 10))), contains(5L, 2L));
+        List<ItemSearchHit> firstPage = engine.searchFree("дрель", start, end, null, PageRequest.of(0, 1));
+        assertThat(ids(firstPage), contains(5L));
+        assertThat(ids(engine.searchFree("дрель", start, end, firstPage.get(0), PageRequest.of(0, 1))), contains(2L));
+        assertThat(ids(engine.searchFree("дрель", start, end, null, PageRequest.of(1, 1))), contains(2L));
+    }
+
+    private List<Long> search(String text) {
+        return ids(engine.search(text, null, PageRequest.of(0, 10)));
+    }
+
+    private static List<Long> ids(List<ItemSearchHit> hits) {
+        return hits.stream()
+                .map(ItemSearchHit::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Item makeItem(long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,10 +18,13 @@ import ru.practicum.shareit.booking.dto.BookingDtoWithBooker;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+import ru.practicum.shareit.item.search.ItemSearchPage;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +32,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -154,11 +159,24 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.comments", is(itemDtoWithBookingOne.getComments())));
     }
 
+    @Test
+    void testGetNotModified() throws Exception {
+        Mockito
+                .when(itemService.getETag(anyLong(), anyLong()))
+                .thenReturn("\"item-1-0\"");
+        mvc.perform(get("/items/" + itemDtoWithBookingOne.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header("If-None-Match", "\"item-1-0\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+        Mockito.verify(itemService, Mockito.never()).get(anyLong(), anyLong());
+    }
+
     @Test
     void testGetAllByUser() throws Exception {
         List<ItemDtoWithBooking> itemsDto = new ArrayList<>(List.of(itemDtoWithBookingOne));
         Mockito
-                .when(itemService.getAllByUser(requestDtoOne.getId()))
+                .when(itemService.getAllByUser(anyLong(), any(), any()))
                 .thenReturn(itemsDto);
         mvc.perform(get("/items")
                         .content(mapper.writeValueAsString(itemsDto))
@@ -173,6 +191,22 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].description", is(itemDtoWithBookingOne.getDescription())))
                 .andExpect(jsonPath("$[0].available", is(itemDtoWithBookingOne.getAvailable())))
                 .andExpect(jsonPath("$[0].comments", is(itemDtoWithBookingOne.getComments())));
+        Mockito.verify(itemService).getAllByUser(eq(owner.getId()), isNull(), eq(Pageable.unpaged()));
+    }
+
+    @Test
+    void testGetAllByUserWithPageParameters() throws Exception {
+        Mockito
+                .when(itemService.getAllByUser(anyLong(), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(itemDtoWithBookingOne)));
+        mvc.perform(get("/items?size=5")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        Mockito.verify(itemService).getAllByUser(eq(owner.getId()), isNull(),
+                argThat(pageable -> pageable.isPaged() && pageable.getOffset() == 0 && pageable.getPageSize() == 5));
     }
 
     @Test
@@ -204,12 +238,32 @@ public class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testSearchFree() throws Exception {
+        Mockito
+                .when(itemService.searchFree(anyString(), any(), any(), any(), any()))
+                .thenReturn(new ItemSearchPage(List.of(itemDtoWithBookingOne), null));
+        ItemSearchHit cursor = new ItemSearchHit(0, 7L);
+        mvc.perform(get("/items/search/available")
+                        .param("text", "description 1")
+                        .param("start", "2030-06-12T00:00:00")
+                        .param("end", "2030-06-14T00:00:00")
+                        .param("cursor", cursor.encode())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ItemController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(itemDtoWithBookingOne.getId()), Long.class));
+        Mockito.verify(itemService).searchFree(eq("description 1"), eq(LocalDateTime.of(2030, 6, 12, 0, 0)),
+                eq(LocalDateTime.of(2030, 6, 14, 0, 0)), eq(cursor), any());
+    }
+
     @Test
     void testSearch() throws Exception {
         List<ItemDtoWithBooking> itemsDto = new ArrayList<>(List.of(itemDtoWithBookingOne));
         Mockito
-                .when(itemService.search(anyString()))
-                .thenReturn(itemsDto);
+                .when(itemService.search(anyString(), any(), any()))
+                .thenReturn(new ItemSearchPage(itemsDto, new ItemSearchHit(5, itemDtoWithBookingOne.getId())));
         mvc.perform(get("/items/search?text=description 1")
                         .content(mapper.writeValueAsString(itemsDto))
                         .header("X-Sharer-User-Id", owner.getId())
@@ -222,7 +276,9 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name", is(itemDtoWithBookingOne.getName())))
                 .andExpect(jsonPath("$[0].description", is(itemDtoWithBookingOne.getDescription())))
                 .andExpect(jsonPath("$[0].available", is(itemDtoWithBookingOne.getAvailable())))
-                .andExpect(jsonPath("$[0].comments", is(itemDtoWithBookingOne.getComments())));
+                .andExpect(jsonPath("$[0].comments", is(itemDtoWithBookingOne.getComments())))
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER,
+                        new ItemSearchHit(5, itemDtoWithBookingOne.getId()).encode()));
     }
 
     @Test
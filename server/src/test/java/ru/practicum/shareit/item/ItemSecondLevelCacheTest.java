@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE
+)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@TestPropertySource(locations = "classpath:test.properties")
+@ActiveProfiles("l2cache")
+public class ItemSecondLevelCacheTest {
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final EntityManagerFactory emf;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private Statistics statistics;
+    private UserDto owner;
+    private ItemDtoWithBooking item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(UserDto.builder().name("Owner").email("l2cache@email").build());
+        item = inTransaction(() -> itemService.create(owner.getId(), makeItemDto("Drill", "Simple drill")));
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (item != null) {
+            inTransaction(() -> {
+                itemService.delete(owner.getId(), item.getId());
+                return null;
+            });
+        }
+        inTransaction(() -> {
+            userService.delete(owner.getId());
+            return null;
+        });
+    }
+
+    @Test
+    void testItemReadIsServedFromSecondLevelCache() {
+        inTransaction(() -> itemService.get(owner.getId(), item.getId()));
+        statistics.clear();
+        inTransaction(() -> itemService.get(owner.getId(), item.getId()));
+        inTransaction(() -> itemService.get(owner.getId(), item.getId()));
+        CacheRegionStatistics items = statistics.getDomainDataRegionStatistics("items");
+        assertThat(items.getHitCount(), equalTo(2L));
+        assertThat(items.getMissCount(), equalTo(0L));
+        assertThat(emf.getCache().contains(Item.class, item.getId()), is(true));
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "items").meters(), not(empty()));
+    }
+
+    @Test
+    void testItemUpdateAndDeleteInvalidateCachedEntry() {
+        inTransaction(() -> itemService.get(owner.getId(), item.getId()));
+        ItemDtoWithOutBooking patch = new ItemDtoWithOutBooking();
+        patch.setName("Hammer drill");
+        inTransaction(() -> itemService.update(owner.getId(), item.getId(), patch));
+        ItemDtoWithBooking updated = inTransaction(() -> itemService.get(owner.getId(), item.getId()));
+        assertThat(updated.getName(), equalTo("Hammer drill"));
+        long itemId = item.getId();
+        item = null;
+        inTransaction(() -> {
+            itemService.delete(owner.getId(), itemId);
+            return null;
+        });
+        assertThat(inTransaction(() -> itemRepository.findById(itemId)).isPresent(), is(false));
+    }
+
+    @Test
+    void testUserUpdateRefreshesCachedEntry() {
+        inTransaction(() -> userService.get(owner.getId()));
+        inTransaction(() -> userService.update(owner.getId(), UserDto.builder().name("New owner").build()));
+        UserDto updated = inTransaction(() -> userService.get(owner.getId()));
+        assertThat(updated.getName(), equalTo("New owner"));
+        assertThat(emf.getCache().contains(User.class, owner.getId()), is(true));
+    }
+
+    @Test
+    void testBookingApprovalKeepsItemAndUserRegions() {
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("l2cache-booker@email").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(start);
+        bookingDto.setEnd(start.plusHours(1));
+        BookingDtoWithInfo booking = inTransaction(() -> bookingService.create(booker.getId(), bookingDto));
+        try {
+            inTransaction(() -> itemService.get(owner.getId(), item.getId()));
+            assertThat(emf.getCache().contains(Item.class, item.getId()), is(true));
+            assertThat(emf.getCache().contains(User.class, owner.getId()), is(true));
+
+            BookingDtoWithInfo approved = inTransaction(() -> bookingService.approve(owner.getId(), booking.getId(), true));
+
+            assertThat(approved.getStatus(), equalTo(BookingState.APPROVED));
+            assertThat(emf.getCache().contains(Item.class, item.getId()), is(true));
+            assertThat(emf.getCache().contains(User.class, owner.getId()), is(true));
+        } finally {
+            inTransaction(() -> {
+                bookingRepository.deleteById(booking.getId());
+                return null;
+            });
+            inTransaction(() -> {
+                userService.delete(booker.getId());
+                return null;
+            });
+        }
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private ItemDtoWithOutBooking makeItemDto(String name, String description) {
+        ItemDtoWithOutBooking itemDto = new ItemDtoWithOutBooking();
+        itemDto.setName(name);
+        itemDto.setDescription(description);
+        itemDto.setAvailable(true);
+        return itemDto;
+    }
+}
@@ -5,16 +5,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.orm.jpa.JpaObjectRetrievalFailureException;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.PageRequestCustom;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.exception.NotValidDateException;
 import ru.practicum.shareit.exception.NotValidOwnerForUpdateException;
 import ru.practicum.shareit.exception.UnBookingCommentException;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.dto.ItemDtoWithOutBooking;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+import ru.practicum.shareit.item.search.ItemSearchPage;
 import ru.practicum.shareit.messageManager.MessageHolder;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.user.model.User;
@@ -85,6 +91,31 @@ public class ItemServiceImplTest {
         assertThat(result.getAvailable(), equalTo(itemDto.getAvailable()));
     }
 
+    @Test
+    void testGetETagChangesOnUpdate() {
+        em.persist(otherUser);
+        em.persist(item);
+        em.flush();
+        String eTag = service.getETag(otherUser.getId(), item.getId());
+        assertThat(service.getETag(otherUser.getId(), item.getId()), equalTo(eTag));
+        service.update(user.getId(), item.getId(), itemDtoPatch);
+        em.flush();
+        assertThat(service.getETag(otherUser.getId(), item.getId()), not(equalTo(eTag)));
+    }
+
+    @Test
+    void testOwnerETagChangesOnBookingWrittenElsewhere() {
+        em.persist(otherUser);
+        em.persist(item);
+        em.flush();
+        String eTag = service.getETag(user.getId(), item.getId());
+        Booking booking = makeBookingEntity(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item, otherUser);
+        booking.setState(BookingState.WAITING);
+        em.persist(booking);
+        em.flush();
+        assertThat(service.getETag(user.getId(), item.getId()), not(equalTo(eTag)));
+    }
+
     @Test
     void testGetAllByUser() {
         List<Item> sourceItems = List.of(
@@ -96,7 +127,7 @@ public class ItemServiceImplTest {
             em.persist(item);
         }
         em.flush();
-        List<ItemDtoWithBooking> items = service.getAllByUser(user.getId());
+        List<ItemDtoWithBooking> items = service.getAllByUser(user.getId(), null, new PageRequestCustom(0, 10, Sort.unsorted()));
         assertThat(items, hasSize(sourceItems.size()));
         for (Item item : sourceItems) {
             assertThat(items, hasItem(allOf(
@@ -108,6 +139,30 @@ public class ItemServiceImplTest {
         }
     }
 
+    @Test
+    void testGetAllByUserWithCursor() {
+        List<Item> sourceItems = List.of(
+                makeItemEntity("item N1", "description1", true, user),
+                makeItemEntity("item N2", "description2", true, user),
+                makeItemEntity("item N3", "description3", true, user)
+        );
+        for (Item item : sourceItems) {
+            em.persist(item);
+        }
+        em.flush();
+        List<ItemDtoWithBooking> firstPage = service.getAllByUser(
+                user.getId(), null, new PageRequestCustom(0, 2, Sort.unsorted())
+        );
+        assertThat(firstPage, hasSize(2));
+        assertThat(firstPage.get(0).getId(), equalTo(sourceItems.get(0).getId()));
+        assertThat(firstPage.get(1).getId(), equalTo(sourceItems.get(1).getId()));
+        List<ItemDtoWithBooking> secondPage = service.getAllByUser(
+                user.getId(), firstPage.get(1).getId(), new PageRequestCustom(0, 2, Sort.unsorted())
+        );
+        assertThat(secondPage, hasSize(1));
+        assertThat(secondPage.get(0).getId(), equalTo(sourceItems.get(2).getId()));
+    }
+
     @Test
     void testUpdate() {
         ItemDtoWithBooking result = service.create(user.getId(), itemDto);
@@ -188,7 +243,8 @@ public class ItemServiceImplTest {
             em.persist(item);
         }
         em.flush();
-        List<ItemDtoWithBooking> items = service.search("item NUMBER");
+        List<ItemDtoWithBooking> items = service.search("item NUMBER", null, new PageRequestCustom(0, 10, Sort.unsorted()))
+                .getItems();
         assertThat(items, hasSize(sourceItems.size() - 1));
         for (Item item : sourceItems) {
             assertThat(items, hasItem(anyOf(
@@ -200,6 +256,93 @@ public class ItemServiceImplTest {
         }
     }
 
+    @Test
+    void testSearchMatchesWildcardsLiterally() {
+        Item underscore = makeItemEntity("drill_bit", "description1", true, user);
+        Item percent = makeItemEntity("drill", "charged 100%", true, user);
+        em.persist(underscore);
+        em.persist(percent);
+        em.persist(makeItemEntity("hammer", "description3", true, user));
+        em.flush();
+        List<ItemDtoWithBooking> byUnderscore = service.search("_", null, new PageRequestCustom(0, 10, Sort.unsorted()))
+                .getItems();
+        List<ItemDtoWithBooking> byPercent = service.search("%", null, new PageRequestCustom(0, 10, Sort.unsorted()))
+                .getItems();
+        assertThat(byUnderscore, hasSize(1));
+        assertThat(byUnderscore.get(0).getId(), equalTo(underscore.getId()));
+        assertThat(byPercent, hasSize(1));
+        assertThat(byPercent.get(0).getId(), equalTo(percent.getId()));
+    }
+
+    @Test
+    void testSearchWithCursor() {
+        List<Item> sourceItems = List.of(
+                makeItemEntity("drill 1", "description1", true, user),
+                makeItemEntity("drill 2", "description2", true, user),
+                makeItemEntity("drill 3", "description3", true, user)
+        );
+        for (Item item : sourceItems) {
+            em.persist(item);
+        }
+        em.flush();
+        ItemSearchPage firstPage = service.search("drill", null, new PageRequestCustom(0, 2, Sort.unsorted()));
+        assertThat(firstPage.getItems(), hasSize(2));
+        assertThat(firstPage.getNext(), notNullValue());
+        em.remove(em.find(Item.class, firstPage.getNext().getId()));
+        em.flush();
+        ItemSearchPage secondPage = service.search(
+                "drill",
+                ItemSearchHit.decode(firstPage.getNext().encode()),
+                new PageRequestCustom(0, 2, Sort.unsorted())
+        );
+        assertThat(secondPage.getItems(), hasSize(1));
+        assertThat(secondPage.getNext(), nullValue());
+        assertThat(secondPage.getItems().get(0).getId(), not(in(List.of(
+                firstPage.getItems().get(0).getId(),
+                firstPage.getItems().get(1).getId()
+        ))));
+    }
+
+    @Test
+    void testSearchFree() {
+        em.persist(otherUser);
+        Item busyItem = makeItemEntity("ladder busy", "description1", true, user);
+        Item freeItem = makeItemEntity("ladder free", "description2", true, user);
+        em.persist(busyItem);
+        em.persist(freeItem);
+        LocalDateTime start = LocalDateTime.of(2030, 6, 12, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 6, 14, 0, 0);
+        Booking booking = makeBookingEntity(start.minusDays(1), start.plusHours(1), busyItem, otherUser);
+        booking.setState(BookingState.APPROVED);
+        em.persist(booking);
+        em.persist(makeBookingEntity(start, end, freeItem, otherUser));
+        em.flush();
+        List<ItemDtoWithBooking> items = service.searchFree("ladder", start, end, null,
+                new PageRequestCustom(0, 10, Sort.unsorted())).getItems();
+        assertThat(items, hasSize(1));
+        assertThat(items.get(0).getId(), equalTo(freeItem.getId()));
+        assertThat(service.searchFree("ladder", end, end.plusDays(1), null,
+                new PageRequestCustom(0, 10, Sort.unsorted())).getItems(), hasSize(2));
+        final NotValidDateException exception = assertThrows(
+                NotValidDateException.class,
+                () -> service.searchFree("ladder", end, start, null, new PageRequestCustom(0, 10, Sort.unsorted()))
+        );
+        assertEquals(MessageHolder.END_BEFORE_START, exception.getMessage());
+    }
+
+    @Test
+    void testSearchFreeMatchesWildcardsLiterally() {
+        Item percent = makeItemEntity("ladder", "extends 100%", true, user);
+        em.persist(percent);
+        em.persist(makeItemEntity("ladder_long", "description2", true, user));
+        em.flush();
+        LocalDateTime start = LocalDateTime.of(2030, 6, 12, 0, 0);
+        List<ItemDtoWithBooking> items = service.searchFree("%", start, start.plusDays(1), null,
+                new PageRequestCustom(0, 10, Sort.unsorted())).getItems();
+        assertThat(items, hasSize(1));
+        assertThat(items.get(0).getId(), equalTo(percent.getId()));
+    }
+
     @Test
     void testCreateComment() {
         em.persist(item);
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityNotFoundException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE
+)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@TestPropertySource(locations = "classpath:test.properties")
+public class UserLookupTest {
+    private final UserLookup userLookup;
+    private final UserService userService;
+    private final EntityManagerFactory emf;
+    private final PlatformTransactionManager transactionManager;
+    private Statistics statistics;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(makeUserDto("Lookup", "lookup@email"));
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        if (user != null) {
+            inTransaction(() -> userService.delete(user.getId()));
+        }
+    }
+
+    @Test
+    void testGetIsServedFromCacheAfterFirstLoad() {
+        User first = userLookup.get(user.getId());
+        long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+        User second = userLookup.get(user.getId());
+        assertThat(first.getName(), equalTo(user.getName()));
+        assertThat(second.getEmail(), equalTo(user.getEmail()));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(statementsAfterFirstLoad));
+    }
+
+    @Test
+    void testUpdateAndDeleteEvictUser() {
+        userLookup.get(user.getId());
+        inTransaction(() -> userService.update(user.getId(), makeUserDto("Lookup updated", null)));
+        assertThat(userLookup.get(user.getId()).getName(), equalTo("Lookup updated"));
+        inTransaction(() -> userService.delete(user.getId()));
+        long deletedUserId = user.getId();
+        user = null;
+        assertThrows(EntityNotFoundException.class, () -> userLookup.get(deletedUserId));
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private UserDto makeUserDto(String name, String email) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(email);
+        return userDto;
+    }
+}